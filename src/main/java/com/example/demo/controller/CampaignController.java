@@ -6,8 +6,11 @@ import com.example.demo.entity.Company;
 import com.example.demo.entity.TargetingLocation;
 
 
+import com.example.demo.service.CampaignSendJob;
+import com.example.demo.service.CampaignSendJobService;
 import com.example.demo.service.CampaignService;
 import com.example.demo.service.CompanyService;
+import com.example.demo.service.EntityLookupCache;
 import com.example.demo.service.TargetingLocationService;
 
 import com.example.demo.service.DeliveryService;
@@ -43,6 +46,11 @@ public class CampaignController {
     @Autowired
     private DeliveryService deliveryService;
     
+    @Autowired
+    private CampaignSendJobService campaignSendJobService;
+    
+    @Autowired
+    private EntityLookupCache entityLookupCache;
 
 
     // 1) 캠페인 생성
@@ -145,14 +153,14 @@ public class CampaignController {
     // 2) 전체 조회
     @GetMapping
     public ResponseEntity<?> getAllCampaigns() {
-        return ResponseEntity.ok(Map.of("success", true, "data", campaignService.getAllCampaigns()));
+        return ResponseEntity.ok(Map.of("success", true, "data", campaignService.getCampaignList()));
     }
     
     // 2-1) 캠페인별 통계 정보 조회
     @GetMapping("/{id}/stats")
     public ResponseEntity<?> getCampaignStats(@PathVariable UUID id) {
         try {
-            Optional<Campaign> campaignOpt = campaignService.getCampaignById(id);
+            Optional<EntityLookupCache.CampaignSnapshot> campaignOpt = entityLookupCache.getCampaign(id);
             if (campaignOpt.isEmpty()) {
                 return ResponseEntity.status(404).body(Map.of(
                     "success", false,
@@ -160,21 +168,16 @@ public class CampaignController {
                 ));
             }
             
-            Campaign campaign = campaignOpt.get();
+            EntityLookupCache.CampaignSnapshot campaign = campaignOpt.get();
             Map<String, Object> stats = new HashMap<>();
             
-            // 타겟팅 정보 - targetingLocationId로 직접 조회
-            UUID targetingLocationId = campaign.getTargetingLocationId();
-            if (targetingLocationId != null) {
-                Optional<TargetingLocation> targetingLocationOpt = targetingLocationService.getTargetingLocationById(targetingLocationId);
-                if (targetingLocationOpt.isPresent()) {
-                    TargetingLocation location = targetingLocationOpt.get();
-                    stats.put("targetingLocationName", location.getName());
-                    stats.put("targetingRadiusM", location.getRadiusM());
-                } else {
-                    stats.put("targetingLocationName", null);
-                    stats.put("targetingRadiusM", null);
-                }
+            // 타겟팅 정보 - targetingLocationId로 캐시에서 조회
+            Optional<EntityLookupCache.TargetingSnapshot> targetingLocationOpt =
+                    entityLookupCache.getTargetingLocation(campaign.targetingLocationId());
+            if (targetingLocationOpt.isPresent()) {
+                EntityLookupCache.TargetingSnapshot location = targetingLocationOpt.get();
+                stats.put("targetingLocationName", location.name());
+                stats.put("targetingRadiusM", location.radiusM());
             } else {
                 stats.put("targetingLocationName", null);
                 stats.put("targetingRadiusM", null);
@@ -216,7 +219,7 @@ public class CampaignController {
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @RequestParam(defaultValue = "10") @Min(1) int size) {
 
-        companyService.getCompanyById(companyId)
+        entityLookupCache.getCompany(companyId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "회사를 찾을 수 없습니다."));
 
         Page<Campaign> p = campaignService.getCampaignsByCompanyId(companyId, PageRequest.of(page, size));
@@ -368,7 +371,7 @@ public class CampaignController {
         }
     }
     
-    // 12) 캠페인 발송 시뮬레이션
+    // 12) 캠페인 발송 (비동기 발송 작업 등록)
     @PostMapping("/{id}/send")
     public ResponseEntity<?> sendCampaign(@PathVariable UUID id) {
         try {
@@ -386,8 +389,9 @@ public class CampaignController {
             
             Campaign campaign = campaignOpt.get();
             
-            // 이미 발송된 캠페인인지 확인
-            if (campaign.getStatus() == CampaignStatus.COMPLETED || campaign.getStatus() == CampaignStatus.SENDING) {
+            // 이미 발송된 캠페인인지 확인 (작업 없이 발송 중으로 남은 캠페인은 다시 등록해 이어서 보낸다)
+            if (campaign.getStatus() == CampaignStatus.COMPLETED
+                    || (campaign.getStatus() == CampaignStatus.SENDING && campaignSendJobService.hasActiveJob(id))) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", false);
                 response.put("message", "이미 발송된 캠페인입니다.");
@@ -402,19 +406,20 @@ public class CampaignController {
                 return ResponseEntity.badRequest().body(response);
             }
             
-            // 발송 실행
-            Map<String, Object> deliveryResult = deliveryService.simulateCampaignDelivery(id);
-            
-            // 캠페인 상태를 COMPLETED로 변경 (즉시 발송 완료)
-            campaign.setStatus("COMPLETED");
-            campaignService.updateCampaign(id, campaign);
+            // 발송 작업 등록 (작업 ID 즉시 반환)
+            CampaignSendJob job = campaignSendJobService.submit(campaign);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "캠페인 발송이 완료되었습니다.");
-            response.put("data", deliveryResult);
+            response.put("message", "캠페인 발송이 시작되었습니다.");
+            response.put("data", job);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.status(ACCEPTED).body(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(CONFLICT).body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -423,6 +428,17 @@ public class CampaignController {
         }
     }
     
+    // 12-1) 캠페인 발송 작업 진행 상황 조회
+    @GetMapping("/{id}/send-jobs/{jobId}")
+    public ResponseEntity<?> getSendJob(@PathVariable UUID id, @PathVariable UUID jobId) {
+        return campaignSendJobService.getJob(id, jobId)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(Map.of("success", true, "data", job)))
+                .orElseGet(() -> ResponseEntity.status(NOT_FOUND).body(Map.of(
+                    "success", false,
+                    "message", "발송 작업을 찾을 수 없습니다."
+                )));
+    }
+    
     // 13) 캠페인별 발송 통계 조회
     @GetMapping("/{id}/delivery-stats")
     public ResponseEntity<?> getCampaignDeliveryStats(@PathVariable UUID id) {
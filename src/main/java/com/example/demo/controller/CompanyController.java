@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CompanyDto;
 import com.example.demo.entity.Company;
 import com.example.demo.service.CompanyService;
 import jakarta.validation.Valid;
@@ -51,7 +52,7 @@ public class CompanyController {
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllCompanies() {
         try {
-            List<Company> companies = companyService.getAllCompanies();
+            List<CompanyDto> companies = companyService.getCompanyList();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
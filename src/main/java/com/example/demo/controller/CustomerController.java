@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CustomerDto;
 import com.example.demo.entity.Customer;
 import com.example.demo.service.CustomerService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,7 +28,7 @@ public class CustomerController {
     @GetMapping
     public ResponseEntity<?> getAllCustomers() {
         try {
-            List<Customer> customers = customerService.getAllCustomers();
+            List<CustomerDto> customers = customerService.getCustomerList();
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "data", customers
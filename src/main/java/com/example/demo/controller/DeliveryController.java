@@ -1,12 +1,22 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.DeliveryDto;
 import com.example.demo.entity.Delivery;
 import com.example.demo.entity.Delivery.DeliveryStatus;
+import com.example.demo.service.CampaignService;
+import com.example.demo.service.DeliveryExportService;
 import com.example.demo.service.DeliveryService;
+import com.example.demo.service.SendRateGovernor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -25,6 +35,18 @@ public class DeliveryController {
     @Autowired
     private DeliveryService deliveryService;
     
+    @Autowired
+    private DeliveryExportService deliveryExportService;
+    
+    @Autowired
+    private CampaignService campaignService;
+    
+    @Autowired
+    private SendRateGovernor sendRateGovernor;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * 캠페인 발송 시뮬레이션
      */
@@ -58,16 +80,14 @@ public class DeliveryController {
     }
     
     /**
-     * 최근 발송 내역 조회
+     * 최근 발송 내역 조회 (커서 기반, nextCursor로 다음 페이지 조회)
      */
     @GetMapping("/recent")
-    public ResponseEntity<?> getRecentDeliveries() {
+    public ResponseEntity<?> getRecentDeliveries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            List<Delivery> recentDeliveries = deliveryService.getRecentDeliveries();
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "data", recentDeliveries
-            ));
+            return ResponseEntity.ok(toPageBody(deliveryService.getRecentDeliveries(cursor, size)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
                 "success", false,
@@ -95,6 +115,17 @@ public class DeliveryController {
         }
     }
     
+    /**
+     * 발송 속도 제한 현황 조회 (회사/채널별 현재 발송 속도, 대기 건수, 누적 대기 시간)
+     */
+    @GetMapping("/send-rate")
+    public ResponseEntity<?> getSendRateStats() {
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "data", sendRateGovernor.getStats()
+        ));
+    }
+    
     /**
      * 시간대별 발송 통계 조회
      */
@@ -115,43 +146,104 @@ public class DeliveryController {
     }
     
     /**
-     * 캠페인별 발송 목록 조회
+     * 캠페인별 발송 목록 조회 (커서 기반)
      */
     @GetMapping("/campaign/{campaignId}")
-    public ResponseEntity<List<Delivery>> getDeliveriesByCampaign(@PathVariable UUID campaignId) {
+    public ResponseEntity<Map<String, Object>> getDeliveriesByCampaign(
+            @PathVariable UUID campaignId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(toPageBody(deliveryService.getDeliveriesByCampaign(campaignId, cursor, size)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "캠페인별 발송 목록 조회 중 오류가 발생했습니다: " + e.getMessage()
+            ));
+        }
+    }
+    
+    /**
+     * 캠페인 발송 내역 초기화 (발송과 별개로 실행, DELETE 문 한 번)
+     */
+    @DeleteMapping("/campaign/{campaignId}")
+    public ResponseEntity<Map<String, Object>> resetCampaignDeliveries(@PathVariable UUID campaignId) {
         try {
-            List<Delivery> deliveries = deliveryService.getDeliveriesByCampaign(campaignId);
-            return ResponseEntity.ok(deliveries);
+            int deleted = deliveryService.resetCampaignDeliveries(campaignId);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "캠페인 발송 내역이 초기화되었습니다.",
+                "data", Map.of("campaignId", campaignId, "deletedCount", deleted)
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "캠페인 발송 내역 초기화 중 오류가 발생했습니다: " + e.getMessage()
+            ));
         }
     }
     
     /**
-     * 상태별 발송 목록 조회
+     * 캠페인 발송 내역 내보내기 (format=ndjson|csv, 응답으로 바로 스트리밍)
+     */
+    @GetMapping("/campaign/{campaignId}/export")
+    public ResponseEntity<StreamingResponseBody> exportCampaignDeliveries(
+            @PathVariable UUID campaignId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        DeliveryExportService.Format exportFormat;
+        try {
+            exportFormat = DeliveryExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return streamingError(HttpStatus.BAD_REQUEST, "지원하지 않는 형식입니다: " + format);
+        }
+        if (campaignService.getCampaignById(campaignId).isEmpty()) {
+            return streamingError(HttpStatus.NOT_FOUND, "캠페인을 찾을 수 없습니다.");
+        }
+        
+        MediaType contentType = exportFormat == DeliveryExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        String filename = "deliveries-" + campaignId + "." + exportFormat.name().toLowerCase();
+        StreamingResponseBody body = out -> deliveryExportService.exportCampaign(campaignId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+    
+    /**
+     * 상태별 발송 목록 조회 (커서 기반)
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Delivery>> getDeliveriesByStatus(@PathVariable String status) {
+    public ResponseEntity<Map<String, Object>> getDeliveriesByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
         try {
             DeliveryStatus deliveryStatus = DeliveryStatus.valueOf(status.toUpperCase());
-            List<Delivery> deliveries = deliveryService.getDeliveriesByStatus(deliveryStatus);
-            return ResponseEntity.ok(deliveries);
+            return ResponseEntity.ok(toPageBody(deliveryService.getDeliveriesByStatus(deliveryStatus, cursor, size)));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "상태별 발송 목록 조회 중 오류가 발생했습니다: " + e.getMessage()
+            ));
         }
     }
     
     /**
-     * 모든 발송 목록 조회
+     * 모든 발송 목록 조회 (SENT, 커서 기반)
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllDeliveries() {
+    public ResponseEntity<Map<String, Object>> getAllDeliveries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
         try {
-            List<Delivery> deliveries = deliveryService.getDeliveriesByStatus(DeliveryStatus.SENT);
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "data", deliveries
-            ));
+            return ResponseEntity.ok(toPageBody(deliveryService.getDeliveriesByStatus(DeliveryStatus.SENT, cursor, size)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
                 "success", false,
@@ -373,4 +465,22 @@ public class DeliveryController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+    
+    // 커서 페이지 응답 (data: 목록, nextCursor: 다음 페이지 커서)
+    private Map<String, Object> toPageBody(CursorPage<DeliveryDto> page) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", true);
+        body.put("data", page.getItems());
+        body.put("nextCursor", page.getNextCursor());
+        body.put("hasNext", page.isHasNext());
+        return body;
+    }
+    
+    // 스트리밍 응답 메서드의 오류 응답 (반환 타입이 StreamingResponseBody로 고정되어 JSON을 직접 쓴다)
+    private ResponseEntity<StreamingResponseBody> streamingError(HttpStatus status, String message) {
+        Map<String, Object> error = Map.of("success", false, "message", message);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, error));
+    }
 }
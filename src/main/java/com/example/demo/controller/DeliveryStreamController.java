@@ -3,12 +3,21 @@ package com.example.demo.controller;
 import com.example.demo.service.DeliveryStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 @RestController
 @RequestMapping("/api/deliveries")
 @CrossOrigin(origins = "*")
@@ -17,9 +26,56 @@ public class DeliveryStreamController {
     @Autowired
     private DeliveryStreamService deliveryStreamService;
 
+    /**
+     * 발송 이벤트 스트림
+     * mode=batch이면 windowMs 간격 또는 maxEvents개 단위로 묶어 DELIVERY_BATCH 프레임으로 전송
+     * 재연결 시 Last-Event-ID 헤더(또는 lastEventId 파라미터) 이후 이벤트를 다시 전송
+     * campaignId, companyId, statuses(쉼표 구분)로 받을 이벤트를 제한할 수 있음
+     */
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter stream() {
-        return deliveryStreamService.subscribe();
+    public SseEmitter stream(@RequestParam(required = false) UUID campaignId,
+                             @RequestParam(required = false) UUID companyId,
+                             @RequestParam(required = false) List<String> statuses,
+                             @RequestParam(defaultValue = "event") String mode,
+                             @RequestParam(required = false) Long windowMs,
+                             @RequestParam(required = false) Integer maxEvents,
+                             @RequestParam(value = "lastEventId", required = false) String lastEventIdParam,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        Long lastEventId = parseEventId(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+        Set<String> statusFilter = null;
+        if (statuses != null && !statuses.isEmpty()) {
+            statusFilter = statuses.stream()
+                .filter(status -> !status.isBlank())
+                .map(status -> status.trim().toUpperCase())
+                .collect(Collectors.toSet());
+        }
+        DeliveryStreamService.StreamFilter filter = new DeliveryStreamService.StreamFilter(campaignId, companyId, statusFilter);
+        if ("batch".equalsIgnoreCase(mode)) {
+            return deliveryStreamService.subscribeBatched(filter, windowMs, maxEvents, lastEventId);
+        }
+        return deliveryStreamService.subscribe(filter, lastEventId);
+    }
+
+    private Long parseEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 스트림 통계 (구독자 수, 대기열 크기, 버려진 이벤트 수)
+     */
+    @GetMapping("/stream/stats")
+    public ResponseEntity<Map<String, Object>> getStreamStats() {
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "data", deliveryStreamService.getStats()
+        ));
     }
 }
 
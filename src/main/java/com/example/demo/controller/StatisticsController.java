@@ -3,6 +3,8 @@ package com.example.demo.controller;
 import com.example.demo.service.CompanyService;
 import com.example.demo.service.CampaignService;
 import com.example.demo.service.CustomerService;
+import com.example.demo.service.EntityLookupCache;
+import com.example.demo.service.ReachEstimateCache;
 import com.example.demo.service.TargetingLocationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +30,12 @@ public class StatisticsController {
     @Autowired
     private TargetingLocationService targetingLocationService;
     
+    @Autowired
+    private EntityLookupCache entityLookupCache;
+    
+    @Autowired
+    private ReachEstimateCache reachEstimateCache;
+    
     /**
      * 전체 통계 정보 조회 API
      */
@@ -95,4 +103,17 @@ public class StatisticsController {
             return ResponseEntity.status(500).body(response);
         }
     }
+    
+    /**
+     * 조회 캐시 적중/미스 통계 API
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        Map<String, Object> stats = entityLookupCache.getStats();
+        stats.put("reachEstimates", reachEstimateCache.getStats());
+        response.put("data", stats);
+        return ResponseEntity.ok(response);
+    }
 }
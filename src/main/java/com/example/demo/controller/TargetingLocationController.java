@@ -4,6 +4,7 @@ import com.example.demo.entity.TargetingLocation;
 import com.example.demo.entity.Company;
 import com.example.demo.service.TargetingLocationService;
 import com.example.demo.service.CompanyService;
+import com.example.demo.service.CustomerDensityGrid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -94,6 +95,23 @@ public class TargetingLocationController {
         }
     }
     
+    // 숫자 ID로 타겟팅 위치 조회 (프론트엔드 호환성)
+    @GetMapping("/numeric/{numericId}")
+    public ResponseEntity<Map<String, Object>> getTargetingLocationByNumericId(@PathVariable Long numericId) {
+        Map<String, Object> response = new HashMap<>();
+        return targetingLocationService.getTargetingLocationByNumericId(numericId)
+                .map(targetingLocation -> {
+                    response.put("success", true);
+                    response.put("data", targetingLocation);
+                    return ResponseEntity.ok(response);
+                })
+                .orElseGet(() -> {
+                    response.put("success", false);
+                    response.put("message", "타겟팅 위치를 찾을 수 없습니다.");
+                    return ResponseEntity.status(404).body(response);
+                });
+    }
+    
     // ID로 타겟팅 위치 조회
     @GetMapping("/{id}")
     public ResponseEntity<Map<String, Object>> getTargetingLocationById(@PathVariable UUID id) {
@@ -220,13 +238,17 @@ public class TargetingLocationController {
     public ResponseEntity<Map<String, Object>> getEstimatedReach(
             @RequestParam Double lat,
             @RequestParam Double lng,
-            @RequestParam Integer radiusM) {
+            @RequestParam Integer radiusM,
+            @RequestParam(defaultValue = "false") boolean approximate) {
         try {
-            Long estimatedReach = targetingLocationService.getEstimatedReach(lat, lng, radiusM);
+            CustomerDensityGrid.Estimate estimatedReach =
+                    targetingLocationService.getEstimatedReach(lat, lng, radiusM, approximate);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("data", estimatedReach);
+            response.put("data", estimatedReach.count());
+            response.put("errorBound", estimatedReach.errorBound());
+            response.put("approximate", estimatedReach.approximate());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
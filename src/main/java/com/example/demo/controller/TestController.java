@@ -9,6 +9,7 @@ import com.example.demo.service.CampaignService;
 import com.example.demo.service.CompanyService;
 import com.example.demo.service.CustomerService;
 import com.example.demo.service.DeliveryService;
+import com.example.demo.service.EntityLookupCache;
 import com.example.demo.service.TargetingLocationService;
 import com.example.demo.repository.CustomerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,6 +62,9 @@ public class TestController {
     
     @Autowired
     private DeliveryRepository deliveryRepository;
+    
+    @Autowired
+    private EntityLookupCache entityLookupCache;
 
     @PostMapping("/echo")
     public Map<String, Object> echo(@RequestBody Map<String, Object> data) {
@@ -262,6 +266,7 @@ public class TestController {
                     // 상태를 DRAFT로 변경
                     campaign.setStatus("DRAFT");
                     campaignRepository.save(campaign);
+                    entityLookupCache.invalidateCampaign(campaign.getId());
                     updatedCount++;
                 }
             }
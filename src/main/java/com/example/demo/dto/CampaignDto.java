@@ -1,5 +1,7 @@
 package com.example.demo.dto;
 
+import com.example.demo.entity.CampaignStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -7,6 +9,9 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * 캠페인 목록 응답 (CampaignRepository.findAllAsDto 생성자 프로젝션, 필드 순서 = 생성자 인자 순서)
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,11 +19,12 @@ public class CampaignDto {
     private UUID id;
     private String name;
     private String message;
+    private UUID targetingLocationId;
     private String description;
     private String imageUrl;
     private String imageAlt;
-    private String status;
+    private CampaignStatus status;
     private UUID companyId;
-    private UUID targetingLocationId;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
 }
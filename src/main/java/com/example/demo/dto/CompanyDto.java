@@ -1,5 +1,6 @@
 package com.example.demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -7,15 +8,20 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * 회사 목록 응답 (CompanyRepository.findAllAsDto 생성자 프로젝션, 필드 순서 = 생성자 인자 순서)
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class CompanyDto {
     private UUID id;
     private String name;
-    private String description;
+    private String industry;
+    private String businessNumber;
     private String address;
     private String phone;
     private String email;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
 }
@@ -1,5 +1,6 @@
 package com.example.demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -7,16 +8,19 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * 고객 목록 응답 (CustomerRepository.findAllAsDto 생성자 프로젝션, 필드 순서 = 생성자 인자 순서)
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class CustomerDto {
     private UUID id;
     private String name;
-    private String email;
     private String phone;
-    private Double latitude;
-    private Double longitude;
-    private String address;
+    private Double lat;
+    private Double lng;
+    private String dongCode;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
 }
@@ -1,5 +1,6 @@
 package com.example.demo.dto;
 
+import com.example.demo.entity.Delivery.DeliveryStatus;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,9 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * 발송 목록 응답 (DeliveryRepository 키셋 조회 생성자 프로젝션, 필드 순서 = 생성자 인자 순서)
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,9 +18,9 @@ public class DeliveryDto {
     private UUID id;
     private UUID campaignId;
     private UUID customerId;
-    private String status;
+    private String messageTextSent;
+    private DeliveryStatus status;
+    private String errorCode;
     private LocalDateTime sentAt;
-    private LocalDateTime deliveredAt;
-    private String errorMessage;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,188 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 캠페인 발송 파티션별 진행 지점
+ * 청크를 저장하는 트랜잭션에서 함께 갱신되므로, 발송이 중간에 끊겨도 마지막으로 커밋된 청크 다음부터 이어서 보낼 수 있다.
+ * 발송이 끝나면 삭제되므로 행이 남아 있는 캠페인은 중단된 발송이다.
+ */
+@Entity
+@Table(name = "campaign_send_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_campaign_send_checkpoints_partition", columnNames = {"campaign_id", "partition_index"})
+})
+public class CampaignSendCheckpoint {
+
+    @Id
+    @UuidV7Id
+    @Column(columnDefinition = "uuid")
+    private UUID id;
+
+    @Column(name = "campaign_id", nullable = false, columnDefinition = "uuid")
+    private UUID campaignId;
+
+    @Column(name = "partition_index", nullable = false)
+    private Integer partitionIndex;
+
+    // 파티션 위도 구간 (null이면 끝이 열린 구간)
+    @Column(name = "from_lat")
+    private Double fromLat;
+
+    @Column(name = "to_lat")
+    private Double toLat;
+
+    // 마지막으로 커밋된 청크의 (위도, 경도, 고객 ID) 키 (null이면 아직 시작 전)
+    @Column(name = "last_lat")
+    private Double lastLat;
+
+    @Column(name = "last_lng")
+    private Double lastLng;
+
+    @Column(name = "last_customer_id", columnDefinition = "uuid")
+    private UUID lastCustomerId;
+
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    @Column(name = "pending_count", nullable = false)
+    private long pendingCount;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 생성자
+    public CampaignSendCheckpoint() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public CampaignSendCheckpoint(UUID campaignId, int partitionIndex, double fromLat, double toLat) {
+        this();
+        this.campaignId = campaignId;
+        this.partitionIndex = partitionIndex;
+        this.fromLat = Double.isInfinite(fromLat) ? null : fromLat;
+        this.toLat = Double.isInfinite(toLat) ? null : toLat;
+    }
+
+    // 구간 경계 (열린 끝은 무한대)
+    public double fromLatOrMin() {
+        return fromLat != null ? fromLat : Double.NEGATIVE_INFINITY;
+    }
+
+    public double toLatOrMax() {
+        return toLat != null ? toLat : Double.POSITIVE_INFINITY;
+    }
+
+    // Getter와 Setter
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getCampaignId() {
+        return campaignId;
+    }
+
+    public void setCampaignId(UUID campaignId) {
+        this.campaignId = campaignId;
+    }
+
+    public Integer getPartitionIndex() {
+        return partitionIndex;
+    }
+
+    public void setPartitionIndex(Integer partitionIndex) {
+        this.partitionIndex = partitionIndex;
+    }
+
+    public Double getFromLat() {
+        return fromLat;
+    }
+
+    public void setFromLat(Double fromLat) {
+        this.fromLat = fromLat;
+    }
+
+    public Double getToLat() {
+        return toLat;
+    }
+
+    public void setToLat(Double toLat) {
+        this.toLat = toLat;
+    }
+
+    public Double getLastLat() {
+        return lastLat;
+    }
+
+    public void setLastLat(Double lastLat) {
+        this.lastLat = lastLat;
+    }
+
+    public Double getLastLng() {
+        return lastLng;
+    }
+
+    public void setLastLng(Double lastLng) {
+        this.lastLng = lastLng;
+    }
+
+    public UUID getLastCustomerId() {
+        return lastCustomerId;
+    }
+
+    public void setLastCustomerId(UUID lastCustomerId) {
+        this.lastCustomerId = lastCustomerId;
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public void setSentCount(long sentCount) {
+        this.sentCount = sentCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(long pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,19 +1,20 @@
 package com.example.demo.entity;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.GenericGenerator;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+    // 반경 조회의 경계 상자 범위 검색용
+    @Index(name = "idx_customers_lat_lng", columnList = "lat, lng")
+})
 public class Customer {
     
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @UuidV7Id
     @Column(columnDefinition = "uuid")
     private UUID id;
     
@@ -1,14 +1,20 @@
 package com.example.demo.entity;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.GenericGenerator;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "deliveries")
+@Table(name = "deliveries", indexes = {
+        @Index(name = "idx_deliveries_created_at_status", columnList = "created_at, status"),
+        @Index(name = "idx_deliveries_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_deliveries_campaign_created_at_id", columnList = "campaign_id, created_at, id"),
+        @Index(name = "idx_deliveries_status_created_at_id", columnList = "status, created_at, id"),
+        // 이어서 보낼 때 이미 저장된 (캠페인, 고객) 조회용, 파티션 테이블은 파티션 키 없는 유일 제약을 둘 수 없어 일반 인덱스로 둔다
+        @Index(name = "idx_deliveries_campaign_customer", columnList = "campaign_id, customer_id")
+})
 public class Delivery {
     
     public enum DeliveryStatus {
@@ -16,8 +22,7 @@ public class Delivery {
     }
     
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @UuidV7Id
     @Column(columnDefinition = "uuid")
     private UUID id;
     
@@ -1,7 +1,6 @@
 package com.example.demo.entity;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.GenericGenerator;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
@@ -13,8 +12,7 @@ import java.util.UUID;
 public class TargetingLocation {
     
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @UuidV7Id
     @Column(columnDefinition = "uuid")
     private UUID id;
     
@@ -38,6 +36,10 @@ public class TargetingLocation {
     @Column(columnDefinition = "TEXT")
     private String memo;
     
+    // 프론트엔드용 숫자 별칭 (기존 UUID 문자열 hashCode 값 유지, 충돌 시 int 범위 밖 값 배정)
+    @Column(name = "numeric_id", unique = true)
+    private Long numericId;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
@@ -113,6 +115,14 @@ public class TargetingLocation {
         this.memo = memo;
     }
     
+    public Long getNumericId() {
+        return numericId;
+    }
+    
+    public void setNumericId(Long numericId) {
+        this.numericId = numericId;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
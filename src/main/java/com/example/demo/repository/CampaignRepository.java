@@ -1,15 +1,22 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.CampaignDto;
 import com.example.demo.entity.Campaign;
+import com.example.demo.entity.CampaignStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.LockModeType;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.Map;
 
@@ -77,4 +84,73 @@ public interface CampaignRepository extends JpaRepository<Campaign, UUID> {
      * 모든 캠페인을 생성일 기준 내림차순으로 조회
      */
     List<Campaign> findAllByOrderByCreatedAtDesc();
+    
+    /**
+     * 캠페인 목록 조회 (응답 컬럼만 DTO로 조회, 엔티티/영속성 컨텍스트를 거치지 않음)
+     */
+    @Query("SELECT new com.example.demo.dto.CampaignDto(c.id, c.name, c.message, c.targetingLocationId, c.description, " +
+           "c.imageUrl, c.imageAlt, c.status, c.company.id, c.createdAt) " +
+           "FROM Campaign c ORDER BY c.createdAt DESC")
+    List<CampaignDto> findAllAsDto();
+    
+    /**
+     * 캠페인 상태 변경
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Campaign c SET c.status = :status WHERE c.id = :id")
+    int updateStatus(@Param("id") UUID id, @Param("status") CampaignStatus status);
+    
+    /**
+     * 캠페인 상태만 조회하고 트랜잭션이 끝날 때까지 행 잠금 (그 사이 발송 시작 등 상태 전환은 대기)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.status FROM Campaign c WHERE c.id = :id")
+    Optional<CampaignStatus> findStatusByIdForUpdate(@Param("id") UUID id);
+    
+    /**
+     * 상태별 캠페인 ID
+     */
+    @Query("SELECT c.id FROM Campaign c WHERE c.status = :status")
+    List<UUID> findIdsByStatus(@Param("status") CampaignStatus status);
+    
+    /**
+     * 현재 상태가 허용된 상태일 때만 캠페인 상태 변경 (중복 발송 방지)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Campaign c SET c.status = :status WHERE c.id = :id AND c.status IN :currentStatuses")
+    int updateStatusIfCurrentIn(@Param("id") UUID id,
+                                @Param("status") CampaignStatus status,
+                                @Param("currentStatuses") List<CampaignStatus> currentStatuses);
+    
+    /**
+     * 타겟팅 위치를 참조하는 캠페인 ID
+     */
+    @Query("SELECT c.id FROM Campaign c WHERE c.targetingLocation.id = :targetingLocationId")
+    List<UUID> findIdsByTargetingLocationId(@Param("targetingLocationId") UUID targetingLocationId);
+    
+    /**
+     * 타겟팅 위치 참조 일괄 해제
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Campaign c SET c.targetingLocation = null WHERE c.targetingLocation.id = :targetingLocationId")
+    int clearTargetingLocation(@Param("targetingLocationId") UUID targetingLocationId);
+    
+    /**
+     * 캠페인 단건 삭제 (연관 엔티티를 읽지 않는 DELETE 문)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Campaign c WHERE c.id = :id")
+    int deleteByIdInBulk(@Param("id") UUID id);
+    
+    /**
+     * 회사 소속 캠페인 일괄 삭제
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Campaign c WHERE c.company.id = :companyId")
+    int deleteByCompanyIdInBulk(@Param("companyId") UUID companyId);
 }
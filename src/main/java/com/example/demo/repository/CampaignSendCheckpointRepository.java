@@ -0,0 +1,62 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.CampaignSendCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CampaignSendCheckpointRepository extends JpaRepository<CampaignSendCheckpoint, UUID> {
+
+    /**
+     * 캠페인의 파티션별 진행 지점
+     */
+    List<CampaignSendCheckpoint> findByCampaignIdOrderByPartitionIndex(UUID campaignId);
+
+    /**
+     * 청크 커밋 시 진행 지점 전진 (청크 INSERT와 같은 트랜잭션에서 호출)
+     */
+    @Modifying
+    @Query("UPDATE CampaignSendCheckpoint c SET c.lastLat = :lastLat, c.lastLng = :lastLng, c.lastCustomerId = :lastCustomerId, " +
+           "c.sentCount = c.sentCount + :sent, c.failedCount = c.failedCount + :failed, c.pendingCount = c.pendingCount + :pending, " +
+           "c.updatedAt = :updatedAt WHERE c.id = :id")
+    int advance(@Param("id") UUID id,
+                @Param("lastLat") double lastLat,
+                @Param("lastLng") double lastLng,
+                @Param("lastCustomerId") UUID lastCustomerId,
+                @Param("sent") long sent,
+                @Param("failed") long failed,
+                @Param("pending") long pending,
+                @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 파티션 발송 완료 표시
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CampaignSendCheckpoint c SET c.completed = true, c.updatedAt = :updatedAt WHERE c.id = :id")
+    int markCompleted(@Param("id") UUID id, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 캠페인 진행 지점 일괄 삭제
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CampaignSendCheckpoint c WHERE c.campaignId = :campaignId")
+    int deleteByCampaignIdInBulk(@Param("campaignId") UUID campaignId);
+
+    /**
+     * 회사 소속 캠페인의 진행 지점 일괄 삭제
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CampaignSendCheckpoint c WHERE c.campaignId IN (SELECT ca.id FROM Campaign ca WHERE ca.company.id = :companyId)")
+    int deleteByCompanyIdInBulk(@Param("companyId") UUID companyId);
+}
@@ -1,10 +1,13 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.CompanyDto;
 import com.example.demo.entity.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -32,9 +35,24 @@ public interface CompanyRepository extends JpaRepository<Company, UUID> {
            "ORDER BY c.createdAt DESC")
     List<Object[]> findCompaniesWithStats();
     
+    /**
+     * 회사 목록 조회 (응답 컬럼만 DTO로 조회, campaigns 컬렉션은 읽지 않음)
+     */
+    @Query("SELECT new com.example.demo.dto.CompanyDto(c.id, c.name, c.industry, c.businessNumber, c.address, " +
+           "c.phone, c.email, c.createdAt) FROM Company c")
+    List<CompanyDto> findAllAsDto();
+    
     /**
      * 특정 회사의 캠페인 수 조회
      */
     @Query("SELECT COUNT(ca) FROM Company c JOIN c.campaigns ca WHERE c.id = :companyId")
     Long countCampaignsByCompanyId(@Param("companyId") UUID companyId);
+    
+    /**
+     * 회사 단건 삭제 (소속 캠페인을 읽어 들이는 JPA cascade 없이)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Company c WHERE c.id = :id")
+    int deleteByIdInBulk(@Param("id") UUID id);
 }
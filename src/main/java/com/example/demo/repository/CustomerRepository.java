@@ -1,16 +1,21 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.CustomerDto;
 import com.example.demo.entity.Customer;
+import com.example.demo.util.GeoUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 
 import java.util.List;
 import java.util.UUID;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
@@ -33,15 +38,53 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
     /**
      * 위치 기반 고객 조회 (Haversine 공식 사용)
      */
+    default List<Customer> findCustomersNearLocation(Double lat, Double lng, Integer radiusM) {
+        double[] box = GeoUtils.boundingBox(lat, lng, radiusM);
+        return findCustomersNearLocationInBox(lat, lng, radiusM, box[0], box[1], box[2], box[3]);
+    }
+
+    /**
+     * 위치 기반 고객 조회 (경계 상자로 (lat, lng) 인덱스 범위 검색 후 Haversine으로 정확히 필터링)
+     */
     @Query(value = "SELECT c.* FROM customers c " +
-                   "WHERE (6371000 * acos(cos(radians(:lat)) * cos(radians(c.lat)) * " +
-                   "cos(radians(c.lng) - radians(:lng)) + sin(radians(:lat)) * sin(radians(c.lat)))) <= :radiusM " +
-                   "ORDER BY (6371000 * acos(cos(radians(:lat)) * cos(radians(c.lat)) * " +
-                   "cos(radians(c.lng) - radians(:lng)) + sin(radians(:lat)) * sin(radians(c.lat)))) ASC", 
+                   "WHERE c.lat BETWEEN :minLat AND :maxLat AND c.lng BETWEEN :minLng AND :maxLng " +
+                   "AND (6371000 * acos(LEAST(1.0, GREATEST(-1.0, cos(radians(:lat)) * cos(radians(c.lat)) * " +
+                   "cos(radians(c.lng) - radians(:lng)) + sin(radians(:lat)) * sin(radians(c.lat)))))) <= :radiusM " +
+                   "ORDER BY (6371000 * acos(LEAST(1.0, GREATEST(-1.0, cos(radians(:lat)) * cos(radians(c.lat)) * " +
+                   "cos(radians(c.lng) - radians(:lng)) + sin(radians(:lat)) * sin(radians(c.lat)))))) ASC", 
            nativeQuery = true)
-    List<Customer> findCustomersNearLocation(@Param("lat") Double lat, 
-                                           @Param("lng") Double lng, 
-                                           @Param("radiusM") Integer radiusM);
+    List<Customer> findCustomersNearLocationInBox(@Param("lat") Double lat, 
+                                                @Param("lng") Double lng, 
+                                                @Param("radiusM") Integer radiusM,
+                                                @Param("minLat") Double minLat,
+                                                @Param("maxLat") Double maxLat,
+                                                @Param("minLng") Double minLng,
+                                                @Param("maxLng") Double maxLng);
+    
+    /**
+     * 경계 상자 안 고객 위치 키셋 조회 (캠페인 발송용)
+     * (lat, lng) 인덱스 순서대로 읽어 페이지마다 정렬하지 않는다. 같은 좌표는 id로 구분한다.
+     */
+    @Query("SELECT c.id, c.lat, c.lng FROM Customer c " +
+           "WHERE c.lat BETWEEN :minLat AND :maxLat AND c.lng BETWEEN :minLng AND :maxLng " +
+           "ORDER BY c.lat, c.lng, c.id")
+    List<Object[]> findLocationsInBoxFirst(@Param("minLat") Double minLat,
+                                           @Param("maxLat") Double maxLat,
+                                           @Param("minLng") Double minLng,
+                                           @Param("maxLng") Double maxLng,
+                                           Pageable pageable);
+
+    @Query("SELECT c.id, c.lat, c.lng FROM Customer c " +
+           "WHERE c.lat BETWEEN :afterLat AND :maxLat AND c.lng BETWEEN :minLng AND :maxLng " +
+           "AND (c.lat > :afterLat OR (c.lat = :afterLat AND (c.lng > :afterLng OR (c.lng = :afterLng AND c.id > :afterId)))) " +
+           "ORDER BY c.lat, c.lng, c.id")
+    List<Object[]> findLocationsInBoxAfter(@Param("maxLat") Double maxLat,
+                                           @Param("minLng") Double minLng,
+                                           @Param("maxLng") Double maxLng,
+                                           @Param("afterLat") Double afterLat,
+                                           @Param("afterLng") Double afterLng,
+                                           @Param("afterId") UUID afterId,
+                                           Pageable pageable);
     
     /**
      * 간단한 거리 계산으로 고객 조회 (테스트용)
@@ -55,28 +98,54 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
     /**
      * 반경 내 고객 수 계산
      */
+    default Long countCustomersInRadius(Double lat, Double lng, Integer radiusM) {
+        double[] box = GeoUtils.boundingBox(lat, lng, radiusM);
+        return countCustomersInBox(lat, lng, radiusM, box[0], box[1], box[2], box[3]);
+    }
+
+    /**
+     * 반경 내 고객 수 계산 (경계 상자 선필터)
+     */
     @Query(value = "SELECT COUNT(*) FROM customers c " +
-                   "WHERE (6371000 * acos(cos(radians(:lat)) * cos(radians(c.lat)) * " +
-                   "cos(radians(c.lng) - radians(:lng)) + sin(radians(:lat)) * sin(radians(c.lat)))) <= :radiusM", 
+                   "WHERE c.lat BETWEEN :minLat AND :maxLat AND c.lng BETWEEN :minLng AND :maxLng " +
+                   "AND (6371000 * acos(LEAST(1.0, GREATEST(-1.0, cos(radians(:lat)) * cos(radians(c.lat)) * " +
+                   "cos(radians(c.lng) - radians(:lng)) + sin(radians(:lat)) * sin(radians(c.lat)))))) <= :radiusM", 
            nativeQuery = true)
-    Long countCustomersInRadius(@Param("lat") Double lat, 
-                               @Param("lng") Double lng, 
-                               @Param("radiusM") Integer radiusM);
+    Long countCustomersInBox(@Param("lat") Double lat, 
+                             @Param("lng") Double lng, 
+                             @Param("radiusM") Integer radiusM,
+                             @Param("minLat") Double minLat,
+                             @Param("maxLat") Double maxLat,
+                             @Param("minLng") Double minLng,
+                             @Param("maxLng") Double maxLng);
 
     /**
      * 반경 내 고객 조회 (거리 정보 포함)
      */
+    default List<Object[]> findCustomersInRadiusWithDistanceRaw(Double lat, Double lng, Integer radiusM) {
+        double[] box = GeoUtils.boundingBox(lat, lng, radiusM);
+        return findCustomersInBoxWithDistanceRaw(lat, lng, radiusM, box[0], box[1], box[2], box[3]);
+    }
+
+    /**
+     * 반경 내 고객 조회 (거리 정보 포함, 경계 상자 선필터)
+     */
     @Query(value = "SELECT c.id, c.name, c.phone, c.lat, c.lng, " +
-                   "CAST((6371000 * acos(cos(radians(:lat)) * cos(radians(c.lat)) * " +
-                   "cos(radians(c.lng) - radians(:lng)) + sin(radians(:lat)) * sin(radians(c.lat)))) / 1000 AS DECIMAL(10,2)) as distance " +
+                   "CAST((6371000 * acos(LEAST(1.0, GREATEST(-1.0, cos(radians(:lat)) * cos(radians(c.lat)) * " +
+                   "cos(radians(c.lng) - radians(:lng)) + sin(radians(:lat)) * sin(radians(c.lat)))))) / 1000 AS DECIMAL(10,2)) as distance " +
                    "FROM customers c " +
-                   "WHERE (6371000 * acos(cos(radians(:lat)) * cos(radians(c.lat)) * " +
-                   "cos(radians(c.lng) - radians(:lng)) + sin(radians(:lat)) * sin(radians(c.lat)))) <= :radiusM " +
+                   "WHERE c.lat BETWEEN :minLat AND :maxLat AND c.lng BETWEEN :minLng AND :maxLng " +
+                   "AND (6371000 * acos(LEAST(1.0, GREATEST(-1.0, cos(radians(:lat)) * cos(radians(c.lat)) * " +
+                   "cos(radians(c.lng) - radians(:lng)) + sin(radians(:lat)) * sin(radians(c.lat)))))) <= :radiusM " +
                    "ORDER BY distance ASC", 
            nativeQuery = true)
-    List<Object[]> findCustomersInRadiusWithDistanceRaw(@Param("lat") Double lat, 
-                                                       @Param("lng") Double lng, 
-                                                       @Param("radiusM") Integer radiusM);
+    List<Object[]> findCustomersInBoxWithDistanceRaw(@Param("lat") Double lat, 
+                                                    @Param("lng") Double lng, 
+                                                    @Param("radiusM") Integer radiusM,
+                                                    @Param("minLat") Double minLat,
+                                                    @Param("maxLat") Double maxLat,
+                                                    @Param("minLng") Double minLng,
+                                                    @Param("maxLng") Double maxLng);
 
     /**
      * 반경 내 고객 조회 (Map 형태로 반환)
@@ -95,9 +164,23 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
         }).toList();
     }
 
+    /**
+     * 전체 고객 위치 스트림 조회 (지리 인덱스 적재용, 트랜잭션 안에서 호출)
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "5000"))
+    @Query("SELECT c.id, c.lat, c.lng FROM Customer c")
+    Stream<Object[]> streamAllLocations();
+
     /**
      * 지역별 고객 분포 조회 (dongCode 기준)
      */
     @Query("SELECT c.dongCode, COUNT(c) FROM Customer c GROUP BY c.dongCode ORDER BY COUNT(c) DESC")
     List<Object[]> getCustomerDistributionByRegion();
+    
+    /**
+     * 고객 목록 조회 (응답 컬럼만 DTO로 조회, 엔티티/영속성 컨텍스트를 거치지 않음)
+     */
+    @Query("SELECT new com.example.demo.dto.CustomerDto(c.id, c.name, c.phone, c.lat, c.lng, c.dongCode, c.createdAt) " +
+           "FROM Customer c")
+    List<CustomerDto> findAllAsDto();
 }
@@ -0,0 +1,114 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Delivery;
+import com.example.demo.util.UuidV7;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * 발송 데이터 대량 저장용 JDBC 저장소
+ * (JPA save()를 건별로 호출하지 않고 JDBC batch로 한 번에 INSERT)
+ */
+@Repository
+public class DeliveryBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO deliveries (id, campaign_id, customer_id, message_text_sent, status, error_code, sent_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 발송 데이터 일괄 저장
+     * PostgreSQL에서는 reWriteBatchedInserts 옵션으로 multi-row INSERT로 변환된다.
+     */
+    public int insertAll(List<Delivery> deliveries) {
+        if (deliveries.isEmpty()) {
+            return 0;
+        }
+        assignIds(deliveries);
+        jdbcTemplate.batchUpdate(INSERT_SQL, setter(deliveries));
+        return deliveries.size();
+    }
+
+    /**
+     * 같은 캠페인/고객 발송이 이미 있는 행은 건너뛰고 일괄 저장 (중단된 발송을 이어서 보낼 때)
+     * 청크 고객 중 이미 저장된 고객을 한 번 조회해 빼고 나머지만 INSERT하므로, 다중 행 INSERT로 변환되어
+     * 행별 결과가 없어도 저장 건수가 정확하고, 유일 인덱스가 없는 파티션 테이블에서도 중복을 막는다.
+     * 같은 캠페인을 동시에 보내는 발송은 없으므로 (발송 중 상태 전환으로 막힘) 조회와 INSERT 사이에 끼어드는 행은 없다.
+     * @return 실제로 저장된 발송
+     */
+    public List<Delivery> insertAllSkippingExisting(List<Delivery> deliveries) {
+        if (deliveries.isEmpty()) {
+            return deliveries;
+        }
+        UUID campaignId = deliveries.get(0).getCampaign().getId();
+        List<Object> params = new ArrayList<>(deliveries.size() + 1);
+        params.add(campaignId);
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        for (Delivery delivery : deliveries) {
+            params.add(delivery.getCustomer().getId());
+            placeholders.add("?");
+        }
+        Set<UUID> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT customer_id FROM deliveries WHERE campaign_id = ? AND customer_id IN " + placeholders,
+                UUID.class, params.toArray()));
+
+        List<Delivery> inserted = new ArrayList<>(deliveries.size());
+        for (Delivery delivery : deliveries) {
+            if (existing.add(delivery.getCustomer().getId())) {
+                inserted.add(delivery);
+            }
+        }
+        insertAll(inserted);
+        return inserted;
+    }
+
+    private void assignIds(List<Delivery> deliveries) {
+        for (Delivery delivery : deliveries) {
+            if (delivery.getId() == null) {
+                delivery.setId(UuidV7.generate());
+            }
+        }
+    }
+
+    private BatchPreparedStatementSetter setter(List<Delivery> deliveries) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Delivery delivery = deliveries.get(i);
+                ps.setObject(1, delivery.getId());
+                ps.setObject(2, delivery.getCampaign().getId());
+                ps.setObject(3, delivery.getCustomer().getId());
+                ps.setString(4, delivery.getMessageTextSent());
+                ps.setString(5, delivery.getStatus().name());
+                ps.setString(6, delivery.getErrorCode());
+                if (delivery.getSentAt() != null) {
+                    ps.setTimestamp(7, Timestamp.valueOf(delivery.getSentAt()));
+                } else {
+                    ps.setNull(7, Types.TIMESTAMP);
+                }
+                ps.setTimestamp(8, Timestamp.valueOf(delivery.getCreatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deliveries.size();
+            }
+        };
+    }
+}
@@ -1,16 +1,23 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.DeliveryDto;
 import com.example.demo.entity.Delivery;
 import com.example.demo.entity.Delivery.DeliveryStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.QueryHint;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface DeliveryRepository extends JpaRepository<Delivery, UUID> {
@@ -21,6 +28,46 @@ public interface DeliveryRepository extends JpaRepository<Delivery, UUID> {
     // 상태별 발송 목록 조회
     List<Delivery> findByStatusOrderByCreatedAtDesc(DeliveryStatus status);
     
+    // 최근 발송 목록 키셋 조회 (created_at, id 내림차순, 응답 컬럼만 DTO로 조회)
+    @Query("SELECT new com.example.demo.dto.DeliveryDto(d.id, d.campaign.id, d.customer.id, d.messageTextSent, d.status, d.errorCode, d.sentAt, d.createdAt) " +
+           "FROM Delivery d ORDER BY d.createdAt DESC, d.id DESC")
+    List<DeliveryDto> findFeedFirst(Pageable pageable);
+    
+    @Query("SELECT new com.example.demo.dto.DeliveryDto(d.id, d.campaign.id, d.customer.id, d.messageTextSent, d.status, d.errorCode, d.sentAt, d.createdAt) " +
+           "FROM Delivery d WHERE d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id) " +
+           "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DeliveryDto> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+    
+    // 캠페인별 발송 목록 키셋 조회
+    @Query("SELECT new com.example.demo.dto.DeliveryDto(d.id, d.campaign.id, d.customer.id, d.messageTextSent, d.status, d.errorCode, d.sentAt, d.createdAt) " +
+           "FROM Delivery d WHERE d.campaign.id = :campaignId ORDER BY d.createdAt DESC, d.id DESC")
+    List<DeliveryDto> findCampaignFeedFirst(@Param("campaignId") UUID campaignId, Pageable pageable);
+    
+    @Query("SELECT new com.example.demo.dto.DeliveryDto(d.id, d.campaign.id, d.customer.id, d.messageTextSent, d.status, d.errorCode, d.sentAt, d.createdAt) " +
+           "FROM Delivery d WHERE d.campaign.id = :campaignId " +
+           "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) " +
+           "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DeliveryDto> findCampaignFeedAfter(@Param("campaignId") UUID campaignId, @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") UUID id, Pageable pageable);
+    
+    // 상태별 발송 목록 키셋 조회
+    @Query("SELECT new com.example.demo.dto.DeliveryDto(d.id, d.campaign.id, d.customer.id, d.messageTextSent, d.status, d.errorCode, d.sentAt, d.createdAt) " +
+           "FROM Delivery d WHERE d.status = :status ORDER BY d.createdAt DESC, d.id DESC")
+    List<DeliveryDto> findStatusFeedFirst(@Param("status") DeliveryStatus status, Pageable pageable);
+    
+    @Query("SELECT new com.example.demo.dto.DeliveryDto(d.id, d.campaign.id, d.customer.id, d.messageTextSent, d.status, d.errorCode, d.sentAt, d.createdAt) " +
+           "FROM Delivery d WHERE d.status = :status " +
+           "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) " +
+           "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DeliveryDto> findStatusFeedAfter(@Param("status") DeliveryStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") UUID id, Pageable pageable);
+    
+    // 캠페인 발송 내보내기용 스트림 (엔티티 대신 컬럼만 조회, JDBC 커서로 나눠 읽음)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT d.id, d.customer.id, d.status, d.errorCode, d.messageTextSent, d.sentAt, d.createdAt " +
+           "FROM Delivery d WHERE d.campaign.id = :campaignId ORDER BY d.createdAt, d.id")
+    Stream<Object[]> streamExportRowsByCampaignId(@Param("campaignId") UUID campaignId);
+    
     // 특정 시간 범위 내 발송 목록 조회
     @Query("SELECT d FROM Delivery d WHERE d.createdAt BETWEEN :startTime AND :endTime ORDER BY d.createdAt DESC")
     List<Delivery> findByCreatedAtBetween(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
@@ -32,14 +79,26 @@ public interface DeliveryRepository extends JpaRepository<Delivery, UUID> {
     long countByCampaignIdAndStatus(UUID campaignId, DeliveryStatus status);
     
     // 오늘 발송된 건수 조회
-    @Query("SELECT COUNT(d) FROM Delivery d WHERE CAST(d.createdAt AS DATE) = CURRENT_DATE")
-    long countTodayDeliveries();
+    // (시간 조건은 created_at 범위로 걸어야 파티션/인덱스 범위 조회가 된다)
+    default long countTodayDeliveries() {
+        LocalDate today = LocalDate.now();
+        return countByCreatedAtRange(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
+    
+    // 기간 내 발송 건수 조회 [start, end)
+    @Query("SELECT COUNT(d) FROM Delivery d WHERE d.createdAt >= :start AND d.createdAt < :end")
+    long countByCreatedAtRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
     
     // 시간대별 발송 건수 조회 (오늘)
+    default List<Object[]> getHourlyDeliveryStats() {
+        return getHourlyDeliveryStatsByDate(LocalDate.now());
+    }
+    
+    // 기간 내 시간대별 발송 건수 조회 [start, end)
     @Query("SELECT EXTRACT(HOUR FROM d.createdAt) as hour, COUNT(d) as count FROM Delivery d " +
-           "WHERE CAST(d.createdAt AS DATE) = CURRENT_DATE " +
+           "WHERE d.createdAt >= :start AND d.createdAt < :end " +
            "GROUP BY EXTRACT(HOUR FROM d.createdAt) ORDER BY hour")
-    List<Object[]> getHourlyDeliveryStats();
+    List<Object[]> getHourlyDeliveryStatsInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
     
     // 최근 30분간 5분 단위 발송 통계
     @Query("SELECT " +
@@ -71,12 +130,17 @@ public interface DeliveryRepository extends JpaRepository<Delivery, UUID> {
     List<Object[]> getRegionDistributionStats();
     
     // 오늘 시간대별 성공/실패 통계 (한국 시간 기준)
+    default List<Object[]> getTodayHourlyStatsByStatus() {
+        LocalDate today = LocalDate.now();
+        return getHourlyStatsByStatusInRange(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
+    
     @Query("SELECT EXTRACT(HOUR FROM d.createdAt) as hour, d.status, COUNT(d) as count " +
            "FROM Delivery d " +
-           "WHERE CAST(d.createdAt AS DATE) = CURRENT_DATE " +
+           "WHERE d.createdAt >= :start AND d.createdAt < :end " +
            "GROUP BY EXTRACT(HOUR FROM d.createdAt), d.status " +
            "ORDER BY hour, d.status")
-    List<Object[]> getTodayHourlyStatsByStatus();
+    List<Object[]> getHourlyStatsByStatusInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     /**
      * 특정 상태의 고유 고객 ID 수 조회
@@ -87,15 +151,61 @@ public interface DeliveryRepository extends JpaRepository<Delivery, UUID> {
     /**
      * 특정 날짜의 시간대별 발송 통계 조회
      */
-    @Query("SELECT EXTRACT(HOUR FROM d.createdAt) as hour, COUNT(d) as count FROM Delivery d " +
-           "WHERE CAST(d.createdAt AS DATE) = :date " +
-           "GROUP BY EXTRACT(HOUR FROM d.createdAt) ORDER BY hour")
-    List<Object[]> getHourlyDeliveryStatsByDate(@Param("date") LocalDate date);
+    default List<Object[]> getHourlyDeliveryStatsByDate(LocalDate date) {
+        return getHourlyDeliveryStatsInRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
     
     // 캠페인별 총 발송 건수 조회
     long countByCampaignId(UUID campaignId);
+
+    /**
+     * 캠페인/회사/상태별 발송 건수 (통계 저장소 적재용)
+     */
+    @Query("SELECT c.id, co.id, d.status, COUNT(d) FROM Delivery d JOIN d.campaign c LEFT JOIN c.company co " +
+           "GROUP BY c.id, co.id, d.status")
+    List<Object[]> countGroupByCampaignAndStatus();
+
+    /**
+     * 캠페인/시간/상태별 발송 건수 (통계 저장소 적재용)
+     */
+    @Query("SELECT d.campaign.id, YEAR(d.createdAt), MONTH(d.createdAt), DAY(d.createdAt), HOUR(d.createdAt), d.status, COUNT(d) " +
+           "FROM Delivery d WHERE d.createdAt >= :since " +
+           "GROUP BY d.campaign.id, YEAR(d.createdAt), MONTH(d.createdAt), DAY(d.createdAt), HOUR(d.createdAt), d.status")
+    List<Object[]> countHourlyGroupByCampaignAndStatus(@Param("since") LocalDateTime since);
+
+    /**
+     * 시간(시 단위)/상태별 발송 건수 [start, end)
+     */
+    @Query("SELECT YEAR(d.createdAt), MONTH(d.createdAt), DAY(d.createdAt), HOUR(d.createdAt), d.status, COUNT(d) " +
+           "FROM Delivery d WHERE d.createdAt >= :start AND d.createdAt < :end " +
+           "GROUP BY YEAR(d.createdAt), MONTH(d.createdAt), DAY(d.createdAt), HOUR(d.createdAt), d.status")
+    List<Object[]> countGroupByHourAndStatus(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 시간(분 단위)/상태별 발송 건수 [start, end)
+     */
+    @Query("SELECT YEAR(d.createdAt), MONTH(d.createdAt), DAY(d.createdAt), HOUR(d.createdAt), MINUTE(d.createdAt), d.status, COUNT(d) " +
+           "FROM Delivery d WHERE d.createdAt >= :start AND d.createdAt < :end " +
+           "GROUP BY YEAR(d.createdAt), MONTH(d.createdAt), DAY(d.createdAt), HOUR(d.createdAt), MINUTE(d.createdAt), d.status")
+    List<Object[]> countGroupByMinuteAndStatus(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
     
     // 캠페인별 특정 상태들의 발송 건수 조회
     @Query("SELECT COUNT(d) FROM Delivery d WHERE d.campaign.id = :campaignId AND d.status IN :statuses")
     long countByCampaignIdAndStatusIn(@Param("campaignId") UUID campaignId, @Param("statuses") List<DeliveryStatus> statuses);
+
+    /**
+     * 캠페인 발송 일괄 삭제
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Delivery d WHERE d.campaign.id = :campaignId")
+    int deleteByCampaignIdInBulk(@Param("campaignId") UUID campaignId);
+
+    /**
+     * 회사 소속 캠페인의 발송 일괄 삭제
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Delivery d WHERE d.campaign.id IN (SELECT c.id FROM Campaign c WHERE c.company.id = :companyId)")
+    int deleteByCompanyIdInBulk(@Param("companyId") UUID companyId);
 }
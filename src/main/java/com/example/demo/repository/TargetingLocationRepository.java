@@ -2,11 +2,14 @@ package com.example.demo.repository;
 
 import com.example.demo.entity.TargetingLocation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -32,4 +35,41 @@ public interface TargetingLocationRepository extends JpaRepository<TargetingLoca
     Long countCustomersInRadius(@Param("lat") Double lat, 
                                @Param("lng") Double lng, 
                                @Param("radiusM") Integer radiusM);
+
+    // 숫자 별칭으로 조회
+    Optional<TargetingLocation> findByNumericId(Long numericId);
+
+    // 숫자 별칭 전체 (id, numericId) - 메모리 조회 맵 적재용
+    @Query("SELECT t.id, t.numericId FROM TargetingLocation t WHERE t.numericId IS NOT NULL")
+    List<Object[]> findAllNumericIds();
+
+    // 숫자 별칭이 없는 위치 (생성 순) - 기존 데이터 채우기용
+    @Query("SELECT t.id FROM TargetingLocation t WHERE t.numericId IS NULL ORDER BY t.createdAt, t.id")
+    List<UUID> findIdsWithoutNumericId();
+
+    @Modifying
+    @Query("UPDATE TargetingLocation t SET t.numericId = :numericId WHERE t.id = :id AND t.numericId IS NULL")
+    int assignNumericId(@Param("id") UUID id, @Param("numericId") Long numericId);
+
+    /**
+     * 타겟팅 위치 단건 삭제 (DELETE 문)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TargetingLocation t WHERE t.id = :id")
+    int deleteByIdInBulk(@Param("id") UUID id);
+
+    /**
+     * 회사 소속 타겟팅 위치 ID
+     */
+    @Query("SELECT t.id FROM TargetingLocation t WHERE t.company.id = :companyId")
+    List<UUID> findIdsByCompanyId(@Param("companyId") UUID companyId);
+
+    /**
+     * 회사 삭제 시 타겟팅 위치의 회사 참조 일괄 해제 (위치는 남긴다)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TargetingLocation t SET t.company = null WHERE t.company.id = :companyId")
+    int clearCompany(@Param("companyId") UUID companyId);
 }
@@ -0,0 +1,89 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.CampaignRepository;
+import com.example.demo.repository.CampaignSendCheckpointRepository;
+import com.example.demo.repository.CompanyRepository;
+import com.example.demo.repository.DeliveryRepository;
+import com.example.demo.repository.TargetingLocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 삭제 경로의 일괄 DB 작업
+ * 연관 엔티티를 하나씩 읽어 저장/삭제하지 않고 영향받는 행만 UPDATE/DELETE 문 한 번씩으로 처리한다.
+ * 메모리 집계/캐시 반영은 호출하는 서비스에서 한다.
+ */
+@Service
+@Transactional
+public class BulkMaintenanceService {
+
+    @Autowired
+    private TargetingLocationRepository targetingLocationRepository;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private CampaignSendCheckpointRepository campaignSendCheckpointRepository;
+
+    /**
+     * 타겟팅 위치 삭제 (참조하던 캠페인은 타겟팅 해제)
+     * @return 타겟팅이 해제된 캠페인 ID (위치가 없으면 null)
+     */
+    public List<UUID> deleteTargetingLocation(UUID targetingLocationId) {
+        if (!targetingLocationRepository.existsById(targetingLocationId)) {
+            return null;
+        }
+        List<UUID> campaignIds = campaignRepository.findIdsByTargetingLocationId(targetingLocationId);
+        if (!campaignIds.isEmpty()) {
+            campaignRepository.clearTargetingLocation(targetingLocationId);
+        }
+        targetingLocationRepository.deleteByIdInBulk(targetingLocationId);
+        return campaignIds;
+    }
+
+    /**
+     * 캠페인과 발송 내역 삭제
+     * @return 삭제 여부
+     */
+    public boolean deleteCampaign(UUID campaignId) {
+        if (!campaignRepository.existsById(campaignId)) {
+            return false;
+        }
+        int deliveries = deliveryRepository.deleteByCampaignIdInBulk(campaignId);
+        campaignSendCheckpointRepository.deleteByCampaignIdInBulk(campaignId);
+        campaignRepository.deleteByIdInBulk(campaignId);
+        System.out.println("캠페인 일괄 삭제: " + campaignId + " (발송 " + deliveries + "건)");
+        return true;
+    }
+
+    /**
+     * 회사와 소속 캠페인/발송 삭제 (소속 타겟팅 위치는 회사 참조만 해제)
+     * @return 회사 참조가 해제된 타겟팅 위치 ID (회사가 없으면 null)
+     */
+    public List<UUID> deleteCompany(UUID companyId) {
+        if (!companyRepository.existsById(companyId)) {
+            return null;
+        }
+        int deliveries = deliveryRepository.deleteByCompanyIdInBulk(companyId);
+        campaignSendCheckpointRepository.deleteByCompanyIdInBulk(companyId);
+        int campaigns = campaignRepository.deleteByCompanyIdInBulk(companyId);
+        List<UUID> targetingLocationIds = targetingLocationRepository.findIdsByCompanyId(companyId);
+        if (!targetingLocationIds.isEmpty()) {
+            targetingLocationRepository.clearCompany(companyId);
+        }
+        companyRepository.deleteByIdInBulk(companyId);
+        System.out.println("회사 일괄 삭제: " + companyId + " (캠페인 " + campaigns + "건, 발송 " + deliveries + "건)");
+        return targetingLocationIds;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 캠페인 발송 작업 (비동기 발송 진행 상황 추적용)
+ */
+public class CampaignSendJob {
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final UUID id;
+    private final UUID campaignId;
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile long totalTargets;
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private volatile String message;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private final LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private volatile LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private volatile LocalDateTime finishedAt;
+
+    public CampaignSendJob(UUID campaignId) {
+        this.id = UUID.randomUUID();
+        this.campaignId = campaignId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // 상태 전이
+    void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = JobStatus.RUNNING;
+    }
+
+    void markCompleted(String message) {
+        this.finishedAt = LocalDateTime.now();
+        this.message = message;
+        this.status = JobStatus.COMPLETED;
+    }
+
+    void markFailed(String message) {
+        this.finishedAt = LocalDateTime.now();
+        this.message = message;
+        this.status = JobStatus.FAILED;
+    }
+
+    // 진행 상황 기록 (청크 커밋마다 호출)
+    void recordChunk(long sent, long failed, long pending) {
+        sentCount.addAndGet(sent);
+        failedCount.addAndGet(failed);
+        pendingCount.addAndGet(pending);
+        processedCount.addAndGet(sent + failed + pending);
+    }
+
+    void setTotalTargets(long totalTargets) {
+        this.totalTargets = totalTargets;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+    }
+
+    // Getter
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getCampaignId() {
+        return campaignId;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public long getTotalTargets() {
+        return totalTargets;
+    }
+
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * 초당 처리 건수
+     */
+    public double getThroughputPerSecond() {
+        LocalDateTime start = startedAt;
+        if (start == null) {
+            return 0.0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long elapsedMillis = Math.max(Duration.between(start, end).toMillis(), 1);
+        return Math.round(processedCount.get() * 1000.0 / elapsedMillis * 10.0) / 10.0;
+    }
+}
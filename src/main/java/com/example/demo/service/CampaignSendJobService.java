@@ -0,0 +1,194 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Campaign;
+import com.example.demo.entity.CampaignStatus;
+import com.example.demo.repository.CampaignRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 캠페인 발송 작업 관리
+ * 발송 요청은 작업으로 등록되고, 제한된 크기의 워커 풀에서 비동기로 실행된다.
+ */
+@Service
+public class CampaignSendJobService {
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    // 동시에 실행할 발송 작업 수
+    @Value("${app.send.worker-threads:4}")
+    private int workerThreads;
+
+    // 실행 대기 가능한 발송 작업 수
+    @Value("${app.send.queue-capacity:100}")
+    private int queueCapacity;
+
+    // 완료된 작업 정보 보관 시간 (분)
+    @Value("${app.send.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    private final Map<UUID, CampaignSendJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workerThreads, workerThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "campaign-send-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 캠페인 발송 작업 등록
+     * 캠페인을 SENDING 상태로 전환한 뒤 작업 ID를 즉시 반환한다.
+     * 실행 중인 작업 없이 SENDING으로 남은 캠페인(발송 도중 서버 중단 등)은 다시 등록해 이어서 보낸다.
+     * (작업 확인과 등록이 엇갈리지 않도록 등록은 한 번에 하나씩)
+     */
+    public synchronized CampaignSendJob submit(Campaign campaign) {
+        purgeFinishedJobs();
+
+        UUID campaignId = campaign.getId();
+        CampaignStatus previousStatus = campaign.getStatus();
+        if (previousStatus == CampaignStatus.SENDING) {
+            return resubmitStalled(campaignId);
+        }
+        // 기존 발송 API와 같이 발송 완료/발송 중만 막는다 (취소된 캠페인도 다시 보낼 수 있다)
+        if (previousStatus == null || previousStatus == CampaignStatus.COMPLETED) {
+            throw new IllegalStateException("이미 발송된 캠페인입니다.");
+        }
+
+        // 다른 요청이 먼저 발송을 시작한 경우 상태 전환이 실패한다
+        int updated = campaignRepository.updateStatusIfCurrentIn(campaignId, CampaignStatus.SENDING, List.of(previousStatus));
+        if (updated == 0) {
+            throw new IllegalStateException("이미 발송된 캠페인입니다.");
+        }
+
+        CampaignSendJob job = new CampaignSendJob(campaignId);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, previousStatus));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            campaignRepository.updateStatus(campaignId, previousStatus);
+            throw new IllegalStateException("발송 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return job;
+    }
+
+    /**
+     * 실행 중인 작업이 없는 SENDING 캠페인 다시 등록 (진행 지점이 있으면 이어서, 없으면 처음부터)
+     * 요청 사이에 작업이 끝났을 수 있으므로 현재 상태를 다시 읽어 확인한다.
+     */
+    private CampaignSendJob resubmitStalled(UUID campaignId) {
+        Optional<CampaignStatus> currentStatus = campaignRepository.findById(campaignId).map(Campaign::getStatus);
+        if (currentStatus.orElse(null) != CampaignStatus.SENDING || hasActiveJob(campaignId)) {
+            throw new IllegalStateException("이미 발송된 캠페인입니다.");
+        }
+        CampaignSendJob job = new CampaignSendJob(campaignId);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, CampaignStatus.DRAFT));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new IllegalStateException("발송 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+        System.out.println("멈춘 캠페인 발송 다시 등록: " + campaignId + " (작업 " + job.getId() + ")");
+        return job;
+    }
+
+    /**
+     * 캠페인에 실행 중(대기 포함)인 발송 작업이 있는지
+     */
+    public boolean hasActiveJob(UUID campaignId) {
+        return jobs.values().stream().anyMatch(job -> job.getCampaignId().equals(campaignId) && !job.isFinished());
+    }
+
+    /**
+     * 시작 시 중단된 발송 재개
+     * 발송 중(SENDING) 상태로 남은 캠페인을 모두 다시 작업으로 등록한다 (시작 시점에는 실행 중인 작업이 없다).
+     * 진행 지점이 있으면 이어서 보내고, 진행 지점을 만들기 전(기존 발송 삭제 중)에 중단된 캠페인은 처음부터 다시 보낸다.
+     * 재개가 실패하면 초안으로 되돌려 다시 발송할 수 있게 한다 (다음 발송도 진행 지점부터 이어진다).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedSends() {
+        for (UUID campaignId : campaignRepository.findIdsByStatus(CampaignStatus.SENDING)) {
+            CampaignSendJob job = new CampaignSendJob(campaignId);
+            jobs.put(job.getId(), job);
+            try {
+                executor.execute(() -> run(job, CampaignStatus.DRAFT));
+                System.out.println("중단된 캠페인 발송 재개: " + campaignId + " (작업 " + job.getId() + ")");
+            } catch (RejectedExecutionException e) {
+                jobs.remove(job.getId());
+                campaignRepository.updateStatus(campaignId, CampaignStatus.DRAFT);
+            }
+        }
+    }
+
+    /**
+     * 발송 작업 조회
+     */
+    public Optional<CampaignSendJob> getJob(UUID campaignId, UUID jobId) {
+        CampaignSendJob job = jobs.get(jobId);
+        if (job == null || !job.getCampaignId().equals(campaignId)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    private void run(CampaignSendJob job, CampaignStatus previousStatus) {
+        job.markRunning();
+        try {
+            Map<String, Object> result = deliveryService.simulateCampaignDelivery(job.getCampaignId(), job);
+            // 발송 대상이 없거나 전체 실패로 초안으로 돌아간 경우에도 기존 발송 API와 같이 발송 완료로 처리
+            campaignRepository.updateStatusIfCurrentIn(job.getCampaignId(), CampaignStatus.COMPLETED,
+                    List.of(CampaignStatus.SENDING, CampaignStatus.DRAFT));
+            job.markCompleted((String) result.get("message"));
+        } catch (Exception e) {
+            System.err.println("캠페인 발송 작업 실패 (" + job.getCampaignId() + "): " + e.getMessage());
+            campaignRepository.updateStatus(job.getCampaignId(), previousStatus);
+            job.markFailed("캠페인 발송 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 보관 시간이 지난 완료 작업 정리
+     */
+    private void purgeFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+    }
+}
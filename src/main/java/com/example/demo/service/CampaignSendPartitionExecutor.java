@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 캠페인 발송 파티션 실행기
+ * 모든 발송 작업이 공유하는 스레드 풀에서 파티션을 동시에 처리한다.
+ * 파티션 하나는 조회/저장 시 커넥션을 하나씩 쓰므로, 스레드 수를 커넥션 풀 크기에서 예비분을 뺀 값 이하로 제한해
+ * 발송이 몰려도 다른 요청이 커넥션을 얻을 수 있게 한다.
+ */
+@Service
+public class CampaignSendPartitionExecutor {
+
+    @Autowired
+    private DataSource dataSource;
+
+    // 파티션 처리 스레드 수 (0이면 커넥션 풀 크기 - 예비 커넥션 수)
+    @Value("${app.send.partition-threads:0}")
+    private int partitionThreads;
+
+    // 발송 외 요청용으로 남겨둘 커넥션 수
+    @Value("${app.send.reserved-connections:4}")
+    private int reservedConnections;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int connectionLimit = Math.max(1, maximumPoolSize() - reservedConnections);
+        int threads = partitionThreads > 0 ? Math.min(partitionThreads, connectionLimit) : connectionLimit;
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "send-partition-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        System.out.println("발송 파티션 실행기: 스레드 " + threads + "개 (커넥션 풀 " + maximumPoolSize() + "개)");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int maximumPoolSize() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            System.err.println("커넥션 풀 크기 확인 실패: " + e.getMessage());
+        }
+        // Hikari 기본값
+        return 10;
+    }
+
+    /**
+     * 파티션 작업을 모두 실행하고 결과를 제출 순서대로 반환
+     * 하나라도 실패하면 나머지가 끝난 뒤 첫 번째 오류를 던진다 (이미 커밋된 청크는 유지된다).
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> partitions) {
+        List<Future<T>> futures;
+        try {
+            futures = executor.invokeAll(partitions);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("발송 파티션 처리가 중단되었습니다.", e);
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtimeException
+                            ? runtimeException
+                            : new RuntimeException("발송 파티션 처리 중 오류가 발생했습니다.", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("발송 파티션 처리가 중단되었습니다.", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    public int getThreads() {
+        return executor.getMaximumPoolSize();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.CampaignDto;
 import com.example.demo.entity.Campaign;
 import com.example.demo.entity.CampaignStatus;
 import com.example.demo.entity.TargetingLocation;
@@ -9,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,15 +27,33 @@ public class CampaignService {
     
     @Autowired
     private TargetingLocationRepository targetingLocationRepository;
+    
+    @Autowired
+    private DeliveryStatsStore deliveryStatsStore;
+    
+    @Autowired
+    private EntityLookupCache entityLookupCache;
+    
+    @Autowired
+    private BulkMaintenanceService bulkMaintenanceService;
 
+    // 저장과 같은 트랜잭션에서 메모리 집계 반영을 등록해 커밋 후 반영되게 한다
+    @Transactional
     public Campaign createCampaign(Campaign campaign) {
-        return campaignRepository.save(campaign);
+        Campaign saved = campaignRepository.save(campaign);
+        deliveryStatsStore.recordCampaignCreated();
+        return saved;
     }
 
     public List<Campaign> getAllCampaigns() {
         return campaignRepository.findAllByOrderByCreatedAtDesc();
     }
     
+    // 목록 API용 (엔티티 대신 응답 컬럼만 조회)
+    public List<CampaignDto> getCampaignList() {
+        return campaignRepository.findAllAsDto();
+    }
+    
 
 
     public Optional<Campaign> getCampaignById(UUID id) {
@@ -91,6 +111,7 @@ public class CampaignService {
                 System.out.println("  상태: " + existingCampaign.getStatus());
                 
                 Campaign updated = campaignRepository.save(existingCampaign);
+                entityLookupCache.invalidateCampaign(id);
                 System.out.println("CampaignService - 캠페인 수정 완료");
                 return updated;
             } else {
@@ -104,23 +125,15 @@ public class CampaignService {
         }
     }
 
+    @Transactional
     public boolean deleteCampaign(UUID id) {
         try {
             System.out.println("CampaignService - 삭제 요청 ID: " + id);
             
-            if (campaignRepository.existsById(id)) {
-                System.out.println("CampaignService - 캠페인 존재 확인됨, 삭제 시작");
-                
-                // 캠페인을 찾아서 관련된 배송 데이터도 함께 삭제
-                Optional<Campaign> campaignOpt = campaignRepository.findById(id);
-                if (campaignOpt.isPresent()) {
-                    Campaign campaign = campaignOpt.get();
-                    
-                    // 관련된 배송 데이터 삭제 (CASCADE 대신 수동으로 처리)
-                    // 이 부분은 DeliveryService를 주입받아서 처리하는 것이 좋지만,
-                    // 현재는 간단히 JPA의 cascade 설정을 활용
-                    campaignRepository.delete(campaign);
-                }
+            // 발송 내역과 캠페인을 DELETE 문으로 삭제 (발송 엔티티를 하나씩 읽는 JPA cascade 없이)
+            if (bulkMaintenanceService.deleteCampaign(id)) {
+                deliveryStatsStore.recordCampaignDeleted(id);
+                entityLookupCache.invalidateCampaign(id);
                 
                 System.out.println("CampaignService - 캠페인 및 관련 데이터 삭제 완료");
                 return true;
@@ -1,5 +1,6 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.CompanyDto;
 import com.example.demo.entity.Company;
 import com.example.demo.repository.CompanyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +18,15 @@ public class CompanyService {
     @Autowired
     private CompanyRepository companyRepository;
     
+    @Autowired
+    private DeliveryStatsStore deliveryStatsStore;
+    
+    @Autowired
+    private EntityLookupCache entityLookupCache;
+    
+    @Autowired
+    private BulkMaintenanceService bulkMaintenanceService;
+    
     /**
      * 회사 생성
      */
@@ -32,6 +42,14 @@ public class CompanyService {
         return companyRepository.findAll();
     }
     
+    /**
+     * 회사 목록 조회 (목록 API용, 응답 컬럼만 조회)
+     */
+    @Transactional(readOnly = true)
+    public List<CompanyDto> getCompanyList() {
+        return companyRepository.findAllAsDto();
+    }
+    
     /**
      * 회사 ID로 조회
      */
@@ -65,7 +83,9 @@ public class CompanyService {
             Company company = optionalCompany.get();
             company.setName(companyDetails.getName());
             company.setIndustry(companyDetails.getIndustry());
-            return companyRepository.save(company);
+            Company saved = companyRepository.save(company);
+            entityLookupCache.invalidateCompany(id, false);
+            return saved;
         }
         throw new RuntimeException("회사를 찾을 수 없습니다: " + id);
     }
@@ -74,11 +94,15 @@ public class CompanyService {
      * 회사 삭제
      */
     public void deleteCompany(UUID id) {
-        if (companyRepository.existsById(id)) {
-            companyRepository.deleteById(id);
-        } else {
+        // 소속 캠페인 수는 삭제 전에 세어 둔다 (메모리 집계 반영용)
+        long campaignCount = companyRepository.existsById(id) ? companyRepository.countCampaignsByCompanyId(id) : 0;
+        // 발송/캠페인/회사를 DELETE 문으로 삭제하고 소속 타겟팅 위치는 회사 참조만 해제
+        if (bulkMaintenanceService.deleteCompany(id) == null) {
             throw new RuntimeException("회사를 찾을 수 없습니다: " + id);
         }
+        entityLookupCache.invalidateCompany(id, true);
+        // 소속 캠페인/발송도 함께 삭제되므로 커밋 후 메모리 집계에서 제외
+        deliveryStatsStore.recordCompanyDeleted(id, campaignCount);
     }
     
     /**
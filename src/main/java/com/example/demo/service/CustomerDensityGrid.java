@@ -0,0 +1,313 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.CustomerRepository;
+import com.example.demo.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 고객 밀도 격자 (근사 도달 수 계산용)
+ * 고객 분포 범위를 일정 크기(기본 100m) 칸으로 나눠 칸별 고객 수만 int 배열에 저장한다.
+ * 반경 안에 완전히 들어가는 칸은 그대로 더하고, 경계에 걸친 칸은 칸 안의 표본점 비율로 나눠 더한다.
+ * 계산량은 반경 크기에만 비례하고 고객 수와는 무관하다.
+ */
+@Service
+public class CustomerDensityGrid {
+
+    private static final double METERS_PER_DEGREE = GeoUtils.EARTH_RADIUS_M * Math.PI / 180;
+
+    // 경계 칸에서 비율을 잴 표본점 수 (한 변)
+    private static final int SAMPLES_PER_SIDE = 4;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.density-grid.cell-size-m:100}")
+    private double cellSizeM;
+
+    // 고객 분포 범위 바깥 여유 (m)
+    @Value("${app.density-grid.margin-m:2000}")
+    private double marginM;
+
+    // 칸 수 상한 - 넘으면 칸 크기를 키운다
+    @Value("${app.density-grid.max-cells:4000000}")
+    private long maxCells;
+
+    private volatile Grid grid;
+
+    // 격자 범위 밖 고객이 생겨 다시 만들어야 하는지
+    private volatile boolean rebuildRequested = false;
+
+    // 재구축 중 들어온 변경 내역 (재구축 완료 후 다시 적용)
+    private List<Consumer<Grid>> pendingChanges;
+
+    /**
+     * 근사 도달 수
+     * @param count 예상 고객 수
+     * @param errorBound 실제 값과의 최대 차이 (경계 칸 + 격자 범위 밖 고객 기준)
+     * @param approximate 격자로 근사했는지 (false면 정확히 센 값)
+     */
+    public record Estimate(long count, long errorBound, boolean approximate) {
+    }
+
+    /**
+     * DB의 전체 고객 위치로 격자 재구축
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            pendingChanges = new ArrayList<>();
+            rebuildRequested = false;
+        }
+
+        // 1차: 분포 범위, 2차: 칸별 집계
+        double[] bounds = {Double.MAX_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE};
+        Grid rebuilt;
+        try {
+            scan(row -> {
+                bounds[0] = Math.min(bounds[0], row[0]);
+                bounds[1] = Math.max(bounds[1], row[0]);
+                bounds[2] = Math.min(bounds[2], row[1]);
+                bounds[3] = Math.max(bounds[3], row[1]);
+            });
+            if (bounds[0] > bounds[1]) {
+                rebuilt = null;
+            } else {
+                Grid target = newGrid(bounds);
+                scan(row -> target.add(row[0], row[1], 1));
+                rebuilt = target;
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            // 재구축 중 변경은 스캔 결과에 이미 들어 있을 수 있어 한 명 정도 어긋날 수 있다 (근사값이므로 허용)
+            if (rebuilt != null) {
+                for (Consumer<Grid> change : pendingChanges) {
+                    change.accept(rebuilt);
+                }
+            }
+            pendingChanges = null;
+            grid = rebuilt;
+        }
+        if (rebuilt != null) {
+            System.out.println("고객 밀도 격자 구축 완료: " + rebuilt.rows + "x" + rebuilt.cols
+                    + " (칸 크기 " + Math.round(rebuilt.cellSizeM) + "m)");
+        }
+    }
+
+    /**
+     * 격자 범위를 벗어난 고객이 생겼으면 다시 만든다
+     */
+    @Scheduled(fixedDelayString = "${app.density-grid.rebuild-check-ms:60000}")
+    public void rebuildIfRequested() {
+        if (rebuildRequested) {
+            rebuild();
+        }
+    }
+
+    private void scan(Consumer<double[]> consumer) {
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+        readOnlyTemplate.executeWithoutResult(status -> {
+            double[] point = new double[2];
+            try (Stream<Object[]> rows = customerRepository.streamAllLocations()) {
+                rows.forEach(row -> {
+                    if (row[1] != null && row[2] != null) {
+                        point[0] = (Double) row[1];
+                        point[1] = (Double) row[2];
+                        consumer.accept(point);
+                    }
+                });
+            }
+        });
+    }
+
+    private Grid newGrid(double[] bounds) {
+        double midLat = (bounds[0] + bounds[1]) / 2;
+        double metersPerDegreeLng = METERS_PER_DEGREE * Math.cos(Math.toRadians(midLat));
+        double heightM = (bounds[1] - bounds[0]) * METERS_PER_DEGREE + 2 * marginM;
+        double widthM = (bounds[3] - bounds[2]) * metersPerDegreeLng + 2 * marginM;
+
+        double cellM = cellSizeM;
+        while ((long) Math.ceil(heightM / cellM) * (long) Math.ceil(widthM / cellM) > maxCells) {
+            cellM *= 2;
+        }
+        return new Grid(bounds[0] - marginM / METERS_PER_DEGREE, bounds[2] - marginM / metersPerDegreeLng,
+                METERS_PER_DEGREE, metersPerDegreeLng, cellM,
+                (int) Math.ceil(heightM / cellM), (int) Math.ceil(widthM / cellM));
+    }
+
+    // 고객 변경 (CustomerService와 동기화)
+    public void add(Double lat, Double lng) {
+        if (lat != null && lng != null) {
+            apply(target -> target.add(lat, lng, 1));
+        }
+    }
+
+    public void move(Double oldLat, Double oldLng, Double newLat, Double newLng) {
+        remove(oldLat, oldLng);
+        add(newLat, newLng);
+    }
+
+    public void remove(Double lat, Double lng) {
+        if (lat != null && lng != null) {
+            apply(target -> target.add(lat, lng, -1));
+        }
+    }
+
+    private synchronized void apply(Consumer<Grid> change) {
+        Grid current = grid;
+        if (current == null) {
+            rebuildRequested = true;
+        } else {
+            change.accept(current);
+            if (current.outside > 0) {
+                rebuildRequested = true;
+            }
+        }
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    /**
+     * 반경 내 근사 고객 수 (격자가 아직 없으면 null)
+     * 읽기는 잠금 없이 하므로 동시에 들어온 변경은 반영되지 않을 수 있다.
+     */
+    public Estimate estimate(double lat, double lng, double radiusM) {
+        Grid current = grid;
+        if (current == null) {
+            return null;
+        }
+        return current.estimate(lat, lng, radiusM);
+    }
+
+    /**
+     * 위경도를 평면 좌표(m)로 근사한 격자
+     */
+    private static final class Grid {
+        private final double originLat;
+        private final double originLng;
+        private final double metersPerDegreeLat;
+        private final double metersPerDegreeLng;
+        private final double cellSizeM;
+        private final int rows;
+        private final int cols;
+        private final int[] counts;
+        // 격자 범위 밖 고객 수 (오차 범위에 포함)
+        private int outside;
+
+        private Grid(double originLat, double originLng, double metersPerDegreeLat, double metersPerDegreeLng,
+                     double cellSizeM, int rows, int cols) {
+            this.originLat = originLat;
+            this.originLng = originLng;
+            this.metersPerDegreeLat = metersPerDegreeLat;
+            this.metersPerDegreeLng = metersPerDegreeLng;
+            this.cellSizeM = cellSizeM;
+            this.rows = rows;
+            this.cols = cols;
+            this.counts = new int[rows * cols];
+        }
+
+        private void add(double lat, double lng, int delta) {
+            int row = (int) Math.floor(y(lat));
+            int col = (int) Math.floor(x(lng));
+            if (row < 0 || row >= rows || col < 0 || col >= cols) {
+                outside += delta;
+                return;
+            }
+            counts[row * cols + col] += delta;
+        }
+
+        // 칸 단위 좌표
+        private double y(double lat) {
+            return (lat - originLat) * metersPerDegreeLat / cellSizeM;
+        }
+
+        private double x(double lng) {
+            return (lng - originLng) * metersPerDegreeLng / cellSizeM;
+        }
+
+        private Estimate estimate(double lat, double lng, double radiusM) {
+            double cy = y(lat);
+            double cx = x(lng);
+            double r = radiusM / cellSizeM;
+            double r2 = r * r;
+
+            long full = 0;
+            double partial = 0;
+            double error = Math.max(outside, 0);
+
+            int rowFrom = Math.max(0, (int) Math.floor(cy - r));
+            int rowTo = Math.min(rows - 1, (int) Math.floor(cy + r));
+            for (int row = rowFrom; row <= rowTo; row++) {
+                // 이 행에서 중심과 가장 가까운/먼 세로 거리
+                double dyNear = cy < row ? row - cy : (cy > row + 1 ? cy - row - 1 : 0);
+                double dyFar = Math.max(Math.abs(cy - row), Math.abs(cy - row - 1));
+                if (dyNear > r) {
+                    continue;
+                }
+                // 원과 겹치는 칸 범위
+                double outer = Math.sqrt(r2 - dyNear * dyNear);
+                int colFrom = Math.max(0, (int) Math.floor(cx - outer));
+                int colTo = Math.min(cols - 1, (int) Math.floor(cx + outer));
+                // 원 안에 완전히 들어가는 칸 범위 (행의 먼 쪽 가장자리에서의 현 길이 기준)
+                int fullFrom = Integer.MAX_VALUE;
+                int fullTo = Integer.MIN_VALUE;
+                if (dyFar <= r) {
+                    double inner = Math.sqrt(r2 - dyFar * dyFar);
+                    fullFrom = Math.max(colFrom, (int) Math.ceil(cx - inner));
+                    fullTo = Math.min(colTo, (int) Math.floor(cx + inner) - 1);
+                }
+
+                int offset = row * cols;
+                for (int col = colFrom; col <= colTo; col++) {
+                    int count = counts[offset + col];
+                    if (col >= fullFrom && col <= fullTo) {
+                        full += count;
+                    } else if (count > 0) {
+                        double fraction = insideFraction(row, col, cy, cx, r2);
+                        partial += count * fraction;
+                        // 칸 안 실제 인원은 0~count 사이이므로 최대 오차는 더 먼 쪽까지의 거리
+                        error += count * Math.max(fraction, 1 - fraction);
+                    }
+                }
+            }
+            return new Estimate(full + Math.round(partial), (long) Math.ceil(error), true);
+        }
+
+        // 칸을 균등 분할한 표본점 중 원 안에 있는 비율
+        private static double insideFraction(int row, int col, double cy, double cx, double r2) {
+            int inside = 0;
+            for (int i = 0; i < SAMPLES_PER_SIDE; i++) {
+                double dy = row + (i + 0.5) / SAMPLES_PER_SIDE - cy;
+                for (int j = 0; j < SAMPLES_PER_SIDE; j++) {
+                    double dx = col + (j + 0.5) / SAMPLES_PER_SIDE - cx;
+                    if (dx * dx + dy * dy <= r2) {
+                        inside++;
+                    }
+                }
+            }
+            return (double) inside / (SAMPLES_PER_SIDE * SAMPLES_PER_SIDE);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Customer;
+import com.example.demo.repository.CustomerRepository;
+import com.example.demo.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * 고객 위치 메모리 인덱스 (위경도 격자 버킷)
+ * 반경 조회 시 전체 고객을 Haversine으로 계산하지 않고 경계 상자에 걸치는 격자만 확인한다.
+ * CustomerService의 생성/수정/삭제와 동기화된다.
+ */
+@Service
+public class CustomerGeoIndex {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 격자 한 칸의 크기 (도 단위, 0.01도 ≒ 1.1km)
+    @Value("${app.geo-index.cell-size-deg:0.01}")
+    private double cellSizeDeg;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Cell> cells = new HashMap<>();
+    private int size;
+
+    private volatile boolean ready = false;
+
+    // 재구축 중 들어온 변경 내역 (재구축 완료 후 다시 적용)
+    private List<ToIntFunction<Map<Long, Cell>>> pendingChanges;
+
+    /**
+     * 반경 내 고객 (거리 포함)
+     */
+    public record Neighbor(UUID id, double distanceM) {
+    }
+
+    /**
+     * DB의 전체 고객 위치로 인덱스 재구축
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Cell> rebuilt = new HashMap<>();
+        int[] count = {0};
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+        try {
+            readOnlyTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = customerRepository.streamAllLocations()) {
+                    rows.forEach(row -> {
+                        if (row[1] != null && row[2] != null) {
+                            // DB의 고객 ID는 고유하므로 중복 확인 없이 붙인다
+                            appendTo(rebuilt, (UUID) row[0], (Double) row[1], (Double) row[2]);
+                            count[0]++;
+                        }
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (ToIntFunction<Map<Long, Cell>> change : pendingChanges) {
+                change.applyAsInt(rebuilt);
+            }
+            pendingChanges = null;
+            cells = rebuilt;
+            size = rebuilt.values().stream().mapToInt(cell -> cell.size).sum();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("고객 위치 인덱스 구축 완료: " + count[0] + "명");
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 고객 추가
+     */
+    public void add(Customer customer) {
+        if (customer.getId() == null || customer.getLat() == null || customer.getLng() == null) {
+            return;
+        }
+        UUID id = customer.getId();
+        double lat = customer.getLat();
+        double lng = customer.getLng();
+        apply(target -> addTo(target, id, lat, lng));
+    }
+
+    /**
+     * 고객 위치 변경
+     */
+    public void move(UUID id, Double oldLat, Double oldLng, Double newLat, Double newLng) {
+        apply(target -> {
+            int delta = 0;
+            if (oldLat != null && oldLng != null) {
+                delta += removeFrom(target, id, oldLat, oldLng);
+            }
+            if (newLat != null && newLng != null) {
+                delta += addTo(target, id, newLat, newLng);
+            }
+            return delta;
+        });
+    }
+
+    /**
+     * 고객 삭제
+     */
+    public void remove(UUID id, Double lat, Double lng) {
+        if (lat == null || lng == null) {
+            return;
+        }
+        apply(target -> removeFrom(target, id, lat, lng));
+    }
+
+    /**
+     * 반경 내 고객 수
+     */
+    public long countInRadius(double lat, double lng, double radiusM) {
+        long[] count = {0};
+        lock.readLock().lock();
+        try {
+            forEachCandidateCell(lat, lng, radiusM, (cell, fullyInside) -> {
+                if (fullyInside) {
+                    count[0] += cell.size;
+                    return;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    if (GeoUtils.distanceMeters(lat, lng, cell.lats[i], cell.lngs[i]) <= radiusM) {
+                        count[0]++;
+                    }
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count[0];
+    }
+
+    /**
+     * 반경 내 고객 조회 (가까운 순)
+     */
+    public List<Neighbor> findInRadius(double lat, double lng, double radiusM) {
+        List<Neighbor> neighbors = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            forEachCandidateCell(lat, lng, radiusM, (cell, fullyInside) -> {
+                for (int i = 0; i < cell.size; i++) {
+                    double distance = GeoUtils.distanceMeters(lat, lng, cell.lats[i], cell.lngs[i]);
+                    if (distance <= radiusM) {
+                        neighbors.add(new Neighbor(new UUID(cell.idMsb[i], cell.idLsb[i]), distance));
+                    }
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        neighbors.sort(Comparator.comparingDouble(Neighbor::distanceM));
+        return neighbors;
+    }
+
+    private interface CellVisitor {
+        void visit(Cell cell, boolean fullyInside);
+    }
+
+    // 경계 상자에 걸치는 격자 순회 (읽기 잠금 상태에서 호출)
+    private void forEachCandidateCell(double lat, double lng, double radiusM, CellVisitor visitor) {
+        double[] box = GeoUtils.boundingBox(lat, lng, radiusM);
+        long minLatIndex = cellIndex(box[0]);
+        long maxLatIndex = cellIndex(box[1]);
+        long minLngIndex = cellIndex(box[2]);
+        long maxLngIndex = cellIndex(box[3]);
+
+        long candidateCells = (maxLatIndex - minLatIndex + 1) * (maxLngIndex - minLngIndex + 1);
+        if (candidateCells > cells.size()) {
+            // 반경이 매우 큰 경우 존재하는 격자만 확인
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                long latIndex = entry.getKey() >> 32;
+                long lngIndex = (int) (long) entry.getKey();
+                if (latIndex >= minLatIndex && latIndex <= maxLatIndex && lngIndex >= minLngIndex && lngIndex <= maxLngIndex) {
+                    visitor.visit(entry.getValue(), isCellInside(latIndex, lngIndex, lat, lng, radiusM));
+                }
+            }
+            return;
+        }
+
+        for (long latIndex = minLatIndex; latIndex <= maxLatIndex; latIndex++) {
+            for (long lngIndex = minLngIndex; lngIndex <= maxLngIndex; lngIndex++) {
+                Cell cell = cells.get(cellKey(latIndex, lngIndex));
+                if (cell != null && cell.size > 0) {
+                    visitor.visit(cell, isCellInside(latIndex, lngIndex, lat, lng, radiusM));
+                }
+            }
+        }
+    }
+
+    // 격자의 네 꼭짓점이 모두 반경 안쪽(1m 여유)이면 격자 전체가 포함된 것으로 본다
+    private boolean isCellInside(long latIndex, long lngIndex, double lat, double lng, double radiusM) {
+        double innerRadius = radiusM - 1.0;
+        double south = latIndex * cellSizeDeg;
+        double north = (latIndex + 1) * cellSizeDeg;
+        double west = lngIndex * cellSizeDeg;
+        double east = (lngIndex + 1) * cellSizeDeg;
+        return GeoUtils.distanceMeters(lat, lng, south, west) <= innerRadius
+                && GeoUtils.distanceMeters(lat, lng, south, east) <= innerRadius
+                && GeoUtils.distanceMeters(lat, lng, north, west) <= innerRadius
+                && GeoUtils.distanceMeters(lat, lng, north, east) <= innerRadius;
+    }
+
+    // 변경 적용 (change는 고객 수 증감을 반환)
+    private void apply(ToIntFunction<Map<Long, Cell>> change) {
+        lock.writeLock().lock();
+        try {
+            size += change.applyAsInt(cells);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int addTo(Map<Long, Cell> target, UUID id, double lat, double lng) {
+        boolean added = target.computeIfAbsent(cellKey(cellIndex(lat), cellIndex(lng)), key -> new Cell())
+                .add(id, lat, lng);
+        return added ? 1 : 0;
+    }
+
+    private void appendTo(Map<Long, Cell> target, UUID id, double lat, double lng) {
+        target.computeIfAbsent(cellKey(cellIndex(lat), cellIndex(lng)), key -> new Cell())
+                .append(id, lat, lng);
+    }
+
+    private int removeFrom(Map<Long, Cell> target, UUID id, double lat, double lng) {
+        long key = cellKey(cellIndex(lat), cellIndex(lng));
+        Cell cell = target.get(key);
+        if (cell == null || !cell.remove(id)) {
+            return 0;
+        }
+        if (cell.size == 0) {
+            target.remove(key);
+        }
+        return -1;
+    }
+
+    private long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDeg);
+    }
+
+    private static long cellKey(long latIndex, long lngIndex) {
+        return (latIndex << 32) | (lngIndex & 0xffffffffL);
+    }
+
+    /**
+     * 격자 한 칸에 속한 고객 좌표 (기본형 배열로 저장)
+     * 고객 ID → 배열 위치 맵은 증분 추가/삭제가 처음 들어올 때 만들어, 도심의 밀집 격자도 건별 변경이 격자 크기와 무관하게 끝난다.
+     * 재구축은 맵 없이 배열에 붙이기만 한다.
+     */
+    private static final class Cell {
+        private double[] lats = new double[4];
+        private double[] lngs = new double[4];
+        private long[] idMsb = new long[4];
+        private long[] idLsb = new long[4];
+        private int size;
+        private Map<UUID, Integer> slots;
+
+        // 중복 확인 없이 추가 (재구축 시 고유한 ID만 들어온다)
+        void append(UUID id, double lat, double lng) {
+            if (size == lats.length) {
+                int capacity = size * 2;
+                lats = Arrays.copyOf(lats, capacity);
+                lngs = Arrays.copyOf(lngs, capacity);
+                idMsb = Arrays.copyOf(idMsb, capacity);
+                idLsb = Arrays.copyOf(idLsb, capacity);
+            }
+            int index = size++;
+            idMsb[index] = id.getMostSignificantBits();
+            idLsb[index] = id.getLeastSignificantBits();
+            lats[index] = lat;
+            lngs[index] = lng;
+            if (slots != null) {
+                slots.put(id, index);
+            }
+        }
+
+        // 같은 고객이 이미 있으면 위치만 갱신 (새로 추가된 경우 true)
+        boolean add(UUID id, double lat, double lng) {
+            Integer index = slots().get(id);
+            if (index != null) {
+                lats[index] = lat;
+                lngs[index] = lng;
+                return false;
+            }
+            append(id, lat, lng);
+            return true;
+        }
+
+        // 마지막 원소를 빈 자리로 옮겨 삭제
+        boolean remove(UUID id) {
+            Integer index = slots().remove(id);
+            if (index == null) {
+                return false;
+            }
+            int last = --size;
+            if (index != last) {
+                lats[index] = lats[last];
+                lngs[index] = lngs[last];
+                idMsb[index] = idMsb[last];
+                idLsb[index] = idLsb[last];
+                slots.put(new UUID(idMsb[index], idLsb[index]), index);
+            }
+            return true;
+        }
+
+        private Map<UUID, Integer> slots() {
+            if (slots == null) {
+                slots = new HashMap<>(Math.max(16, size * 2));
+                for (int i = 0; i < size; i++) {
+                    slots.put(new UUID(idMsb[i], idLsb[i]), i);
+                }
+            }
+            return slots;
+        }
+    }
+}
@@ -1,27 +1,51 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.CustomerDto;
 import com.example.demo.entity.Customer;
 import com.example.demo.repository.CustomerRepository;
+import com.example.demo.util.GeoUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Service
 public class CustomerService {
     
+    // IN 절 하나에 넣을 최대 ID 수
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+    
     @Autowired
     private CustomerRepository customerRepository;
     
+    @Autowired
+    private CustomerGeoIndex customerGeoIndex;
+    
+    @Autowired
+    private ReachEstimateCache reachEstimateCache;
+    
+    @Autowired
+    private CustomerDensityGrid customerDensityGrid;
+    
     /**
      * 고객 생성
      */
     public Customer createCustomer(Customer customer) {
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        customerGeoIndex.add(saved);
+        customerDensityGrid.add(saved.getLat(), saved.getLng());
+        reachEstimateCache.invalidate();
+        return saved;
     }
     
     /**
@@ -31,6 +55,13 @@ public class CustomerService {
         return customerRepository.findAll();
     }
     
+    /**
+     * 고객 목록 조회 (목록 API용, 응답 컬럼만 조회)
+     */
+    public List<CustomerDto> getCustomerList() {
+        return customerRepository.findAllAsDto();
+    }
+    
     /**
      * 페이지별 고객 조회
      */
@@ -70,7 +101,108 @@ public class CustomerService {
      * 위치 기반 고객 조회
      */
     public List<Customer> getCustomersNearLocation(Double lat, Double lng, Integer radiusM) {
-        return customerRepository.findCustomersNearLocation(lat, lng, radiusM);
+        // 인덱스 적재 전에는 DB에서 직접 계산
+        if (!customerGeoIndex.isReady()) {
+            return customerRepository.findCustomersNearLocation(lat, lng, radiusM);
+        }
+        List<UUID> ids = customerGeoIndex.findInRadius(lat, lng, radiusM).stream()
+                .map(CustomerGeoIndex.Neighbor::id)
+                .toList();
+        return getCustomersByIds(ids);
+    }
+    
+    /**
+     * 고객 조회 키셋 위치 (위도, 경도, ID 순 정렬의 마지막 행)
+     */
+    public record CustomerKey(double lat, double lng, UUID id) {}
+    
+    /**
+     * 반경 내 고객 ID를 청크 단위로 전달 (캠페인 발송용)
+     */
+    public long forEachCustomerIdChunkNearLocation(Double lat, Double lng, Integer radiusM, int chunkSize,
+                                                   Consumer<List<UUID>> chunkConsumer) {
+        return forEachCustomerIdChunkNearLocation(lat, lng, radiusM,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, null, chunkSize,
+                (chunk, lastKey) -> chunkConsumer.accept(chunk));
+    }
+    
+    /**
+     * 반경 내 고객 중 위도 fromLat 이상 toLat 미만 구간의 ID를 청크 단위로 전달 (발송 파티션용)
+     * 전체 대상을 목록으로 만들지 않고 경계 상자 안 고객을 (lat, lng, id) 키셋으로 청크 크기만큼씩 읽어
+     * Haversine으로 걸러 넘긴다. 페이지마다 짧은 조회로 끝나므로 발송 중 연결/트랜잭션을 붙잡지 않는다.
+     * after가 있으면 그 키 다음부터 읽고, 청크와 함께 그 페이지의 마지막 키를 넘겨 호출자가 진행 지점으로 저장할 수 있게 한다.
+     * @return 전달한 고객 수
+     */
+    public long forEachCustomerIdChunkNearLocation(Double lat, Double lng, Integer radiusM, double fromLat, double toLat,
+                                                   CustomerKey after, int chunkSize,
+                                                   BiConsumer<List<UUID>, CustomerKey> chunkConsumer) {
+        double[] box = GeoUtils.boundingBox(lat, lng, radiusM);
+        double minLat = Math.max(box[0], fromLat);
+        // 상한 위도는 조회에 포함되고 아래에서 제외된다 (다음 구간이 가져감)
+        double maxLat = Math.min(box[1], toLat);
+        if (minLat > maxLat) {
+            return 0;
+        }
+        Pageable limit = PageRequest.of(0, chunkSize);
+        long count = 0;
+        CustomerKey last = after;
+        while (true) {
+            List<Object[]> rows = last == null
+                    ? customerRepository.findLocationsInBoxFirst(minLat, maxLat, box[2], box[3], limit)
+                    : customerRepository.findLocationsInBoxAfter(maxLat, box[2], box[3],
+                            last.lat(), last.lng(), last.id(), limit);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<UUID> chunk = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                double rowLat = (Double) row[1];
+                if (rowLat < toLat && GeoUtils.distanceMeters(lat, lng, rowLat, (Double) row[2]) <= radiusM) {
+                    chunk.add((UUID) row[0]);
+                }
+            }
+            Object[] lastRow = rows.get(rows.size() - 1);
+            last = new CustomerKey((Double) lastRow[1], (Double) lastRow[2], (UUID) lastRow[0]);
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk, last);
+                count += chunk.size();
+            }
+            if (rows.size() < chunkSize) {
+                break;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * 반경 내 고객 수 (인덱스 적재 전에는 DB에서 직접 계산)
+     */
+    public long countCustomersNearLocation(Double lat, Double lng, Integer radiusM) {
+        if (customerGeoIndex.isReady()) {
+            return customerGeoIndex.countInRadius(lat, lng, radiusM);
+        }
+        return customerRepository.countCustomersInRadius(lat, lng, radiusM);
+    }
+    
+    /**
+     * ID 목록으로 고객 조회 (요청한 순서 유지, 없는 고객은 제외)
+     */
+    public List<Customer> getCustomersByIds(List<UUID> ids) {
+        Map<UUID, Customer> customersById = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, ids.size()));
+            for (Customer customer : customerRepository.findAllById(chunk)) {
+                customersById.put(customer.getId(), customer);
+            }
+        }
+        List<Customer> customers = new ArrayList<>(customersById.size());
+        for (UUID id : ids) {
+            Customer customer = customersById.get(id);
+            if (customer != null) {
+                customers.add(customer);
+            }
+        }
+        return customers;
     }
     
     /**
@@ -79,6 +211,8 @@ public class CustomerService {
     public Customer updateCustomer(UUID id, Customer customerDetails) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("고객을 찾을 수 없습니다."));
+        Double oldLat = customer.getLat();
+        Double oldLng = customer.getLng();
         
         customer.setName(customerDetails.getName());
         customer.setPhone(customerDetails.getPhone());
@@ -86,15 +220,23 @@ public class CustomerService {
         customer.setLng(customerDetails.getLng());
         customer.setDongCode(customerDetails.getDongCode());
         
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        customerGeoIndex.move(saved.getId(), oldLat, oldLng, saved.getLat(), saved.getLng());
+        customerDensityGrid.move(oldLat, oldLng, saved.getLat(), saved.getLng());
+        reachEstimateCache.invalidate();
+        return saved;
     }
     
     /**
      * 고객 삭제
      */
     public boolean deleteCustomer(UUID id) {
-        if (customerRepository.existsById(id)) {
+        Optional<Customer> customer = customerRepository.findById(id);
+        if (customer.isPresent()) {
             customerRepository.deleteById(id);
+            customerGeoIndex.remove(id, customer.get().getLat(), customer.get().getLng());
+            customerDensityGrid.remove(customer.get().getLat(), customer.get().getLng());
+            reachEstimateCache.invalidate();
             return true;
         }
         return false;
@@ -25,6 +25,9 @@ public class DashboardService {
     @Autowired
     private CustomerRepository customerRepository;
     
+    @Autowired
+    private DeliveryStatsStore deliveryStatsStore;
+    
     /**
      * 대시보드 요약 지표 조회
      */
@@ -32,17 +35,33 @@ public class DashboardService {
         Map<String, Object> summary = new HashMap<>();
         
         try {
-            // 1. 총 캠페인 수
-            long totalCampaigns = campaignRepository.count();
-            
-            // 2. 발송 통계 (실제 데이터)
-            long totalDeliveries = deliveryRepository.count();
-            long sentCount = deliveryRepository.countByStatus(Delivery.DeliveryStatus.SENT);
-            long failedCount = deliveryRepository.countByStatus(Delivery.DeliveryStatus.FAILED);
-            long pendingCount = deliveryRepository.countByStatus(Delivery.DeliveryStatus.PENDING);
-            
-            // 3. 도달한 고객 수 (SENT 상태인 고유 customer_id 수)
-            long reachedCustomers = deliveryRepository.countDistinctCustomerIdByStatus(Delivery.DeliveryStatus.SENT);
+            long totalCampaigns;
+            long totalDeliveries;
+            long sentCount;
+            long failedCount;
+            long pendingCount;
+            long reachedCustomers;
+            if (deliveryStatsStore.isReady()) {
+                // 메모리 집계 사용 (DB 조회 없음)
+                totalCampaigns = deliveryStatsStore.getTotalCampaigns();
+                totalDeliveries = deliveryStatsStore.getTotalCount();
+                sentCount = deliveryStatsStore.getCount(Delivery.DeliveryStatus.SENT);
+                failedCount = deliveryStatsStore.getCount(Delivery.DeliveryStatus.FAILED);
+                pendingCount = deliveryStatsStore.getCount(Delivery.DeliveryStatus.PENDING);
+                reachedCustomers = deliveryStatsStore.getReachedCustomers();
+            } else {
+                // 1. 총 캠페인 수
+                totalCampaigns = campaignRepository.count();
+                
+                // 2. 발송 통계 (실제 데이터)
+                totalDeliveries = deliveryRepository.count();
+                sentCount = deliveryRepository.countByStatus(Delivery.DeliveryStatus.SENT);
+                failedCount = deliveryRepository.countByStatus(Delivery.DeliveryStatus.FAILED);
+                pendingCount = deliveryRepository.countByStatus(Delivery.DeliveryStatus.PENDING);
+                
+                // 3. 도달한 고객 수 (SENT 상태인 고유 customer_id 수)
+                reachedCustomers = deliveryRepository.countDistinctCustomerIdByStatus(Delivery.DeliveryStatus.SENT);
+            }
             
             // 4. 평균 도달률 계산
             double reachRate = 0.0;
@@ -0,0 +1,102 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Delivery.DeliveryStatus;
+import com.example.demo.repository.DeliveryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * 발송 시간대별 집계
+ * 시 단위 구간은 DeliveryStatsStore의 시간대별 집계에서 바로 계산하고,
+ * 그 밖의 구간은 GROUP BY 쿼리 한 번으로 구간별·상태별 건수를 계산한다.
+ */
+@Service
+public class DeliveryHistogramService {
+
+    private static final int STATUS_COUNT = DeliveryStatus.values().length;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private DeliveryStatsStore deliveryStatsStore;
+
+    /**
+     * 구간별·상태별 발송 건수
+     * @param start 첫 구간 시작 시각
+     * @param bucketSize 구간 크기 (1분 단위)
+     * @param bucketCount 구간 수
+     */
+    public Histogram countByBucket(LocalDateTime start, Duration bucketSize, int bucketCount) {
+        if (bucketSize.isZero() || bucketSize.isNegative() || bucketSize.toSeconds() % 60 != 0) {
+            throw new IllegalArgumentException("구간 크기는 1분 단위여야 합니다: " + bucketSize);
+        }
+        LocalDateTime end = start.plus(bucketSize.multipliedBy(bucketCount));
+        long[][] counts = new long[bucketCount][STATUS_COUNT];
+
+        // 구간이 정시에 맞춰진 시 단위면 시 단위로, 아니면 분 단위로 묶는다
+        boolean hourly = bucketSize.toMinutes() % 60 == 0 && start.equals(start.truncatedTo(ChronoUnit.HOURS));
+        if (hourly) {
+            int hoursPerBucket = (int) bucketSize.toHours();
+            long[][] hourlyCounts = deliveryStatsStore.getHourlyCounts(start, bucketCount * hoursPerBucket);
+            if (hourlyCounts != null) {
+                for (int hour = 0; hour < hourlyCounts.length; hour++) {
+                    for (int i = 0; i < STATUS_COUNT; i++) {
+                        counts[hour / hoursPerBucket][i] += hourlyCounts[hour][i];
+                    }
+                }
+                return new Histogram(start, bucketSize, counts);
+            }
+        }
+        List<Object[]> rows = hourly
+                ? deliveryRepository.countGroupByHourAndStatus(start, end)
+                : deliveryRepository.countGroupByMinuteAndStatus(start, end);
+
+        for (Object[] row : rows) {
+            LocalDateTime time = LocalDateTime.of(
+                    ((Number) row[0]).intValue(), ((Number) row[1]).intValue(), ((Number) row[2]).intValue(),
+                    ((Number) row[3]).intValue(), hourly ? 0 : ((Number) row[4]).intValue());
+            int statusIndex = hourly ? 4 : 5;
+            DeliveryStatus status = (DeliveryStatus) row[statusIndex];
+            long count = ((Number) row[statusIndex + 1]).longValue();
+
+            // 분 단위 행은 분 시작 시각 기준으로 구간을 정한다 (start와 같은 분이면 첫 구간)
+            long bucket = Duration.between(start, time).toMinutes() / bucketSize.toMinutes();
+            if (bucket >= 0 && bucket < bucketCount) {
+                counts[(int) bucket][status.ordinal()] += count;
+            }
+        }
+        return new Histogram(start, bucketSize, counts);
+    }
+
+    /**
+     * 구간별·상태별 건수 (상태 배열은 DeliveryStatus.ordinal() 순서)
+     */
+    public record Histogram(LocalDateTime start, Duration bucketSize, long[][] counts) {
+
+        public int size() {
+            return counts.length;
+        }
+
+        public LocalDateTime bucketStart(int bucket) {
+            return start.plus(bucketSize.multipliedBy(bucket));
+        }
+
+        public long count(int bucket, DeliveryStatus status) {
+            return counts[bucket][status.ordinal()];
+        }
+
+        public long total(int bucket) {
+            long total = 0;
+            for (long count : counts[bucket]) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * deliveries 테이블 일 단위 파티션 관리 (PostgreSQL 전용)
+ * - 기존 일반 테이블이면 created_at 기준 RANGE 파티션 테이블로 전환
+ * - 매일 앞으로 쓸 파티션을 미리 만들고
+ * - 보관 기간이 지난 파티션은 일별 요약(delivery_daily_summary)으로 남긴 뒤 분리·삭제한다.
+ * app.partition.enabled=false(H2 프로필)이면 빈으로 등록되지 않는다.
+ */
+@Service
+@ConditionalOnProperty(name = "app.partition.enabled", havingValue = "true")
+public class DeliveryPartitionManager {
+
+    private static final String PARENT_TABLE = "deliveries";
+    private static final String PARTITION_PREFIX = "deliveries_p";
+    private static final String DEFAULT_PARTITION = "deliveries_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DeliveryStatsStore deliveryStatsStore;
+
+    // 미리 만들어 둘 파티션 일수
+    @Value("${app.partition.days-ahead:7}")
+    private int daysAhead;
+
+    // 원본 발송 데이터 보관 일수 (지나면 요약 후 삭제)
+    @Value("${app.partition.retention-days:90}")
+    private int retentionDays;
+
+    /**
+     * 시작 시 파티션 테이블 전환 및 파티션 준비
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            createSummaryTable();
+            if (!isPartitioned()) {
+                convertToPartitionedTable();
+            }
+            ensureIndexes();
+            maintain();
+        } catch (RuntimeException e) {
+            System.err.println("발송 파티션 초기화 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 파티션 사전 생성 + 보관 기간 지난 파티션 정리 (매일)
+     */
+    @Scheduled(cron = "${app.partition.maintenance-cron:0 10 0 * * *}")
+    public void maintain() {
+        if (!isPartitioned()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i <= daysAhead; i++) {
+            createPartition(today.plusDays(i));
+        }
+        int dropped = archiveExpiredPartitions(today.minusDays(retentionDays));
+        if (dropped > 0) {
+            // 삭제된 원본 건수가 메모리 집계에서도 빠지도록 다시 적재
+            deliveryStatsStore.reconcile();
+        }
+    }
+
+    private boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE c.relname = ? AND n.nspname = current_schema()", String.class, PARENT_TABLE);
+        return !kinds.isEmpty() && "p".equals(kinds.get(0));
+    }
+
+    private void createSummaryTable() {
+        jdbcTemplate.execute(
+                "CREATE TABLE IF NOT EXISTS delivery_daily_summary (" +
+                "summary_date date NOT NULL, " +
+                "campaign_id uuid NOT NULL, " +
+                "status varchar(20) NOT NULL, " +
+                "delivery_count bigint NOT NULL, " +
+                "PRIMARY KEY (summary_date, campaign_id, status))");
+    }
+
+    /**
+     * 일반 테이블을 파티션 테이블로 전환 (한 트랜잭션)
+     * 보관 기간 안쪽은 일 단위 파티션으로, 그 이전 데이터는 기본 파티션으로 옮긴다.
+     */
+    private void convertToPartitionedTable() {
+        LocalDate today = LocalDate.now();
+        System.out.println("deliveries 테이블을 일 단위 파티션 테이블로 전환 시작");
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE deliveries RENAME TO deliveries_legacy");
+            jdbcTemplate.execute("CREATE TABLE deliveries (LIKE deliveries_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS) " +
+                    "PARTITION BY RANGE (created_at)");
+            // 파티션 테이블의 기본 키에는 파티션 키가 포함되어야 한다
+            jdbcTemplate.execute("ALTER TABLE deliveries ADD PRIMARY KEY (id, created_at)");
+            jdbcTemplate.execute("ALTER TABLE deliveries ADD CONSTRAINT fk_deliveries_campaign " +
+                    "FOREIGN KEY (campaign_id) REFERENCES campaigns (id)");
+            jdbcTemplate.execute("ALTER TABLE deliveries ADD CONSTRAINT fk_deliveries_customer " +
+                    "FOREIGN KEY (customer_id) REFERENCES customers (id)");
+
+            for (LocalDate day = today.minusDays(retentionDays); !day.isAfter(today.plusDays(daysAhead)); day = day.plusDays(1)) {
+                createPartition(day);
+            }
+            jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF deliveries DEFAULT");
+
+            int moved = jdbcTemplate.update("INSERT INTO deliveries SELECT * FROM deliveries_legacy");
+            jdbcTemplate.execute("DROP TABLE deliveries_legacy");
+            // 인덱스는 데이터 이전 후 ensureIndexes()에서 생성
+            System.out.println("deliveries 파티션 전환 완료: " + moved + "건 이전");
+        });
+    }
+
+    /**
+     * 파티션 테이블 인덱스 생성 (엔티티 @Index와 같은 이름, 이미 있으면 건너뜀)
+     * 전환 이후에 추가된 인덱스도 시작할 때마다 채워 넣는다.
+     * (ddl-auto=update는 파티션 테이블의 인덱스를 인식하지 못해 믿을 수 없음)
+     * 파티션 테이블의 유일 제약에는 파티션 키가 들어가야 하므로 (campaign_id, customer_id)는 일반 인덱스로 두고,
+     * 이어서 보낼 때의 중복은 DeliveryBatchRepository.insertAllSkippingExisting()에서 걸러낸다.
+     */
+    private void ensureIndexes() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_deliveries_created_at_status ON deliveries (created_at, status)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_deliveries_created_at_id ON deliveries (created_at, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_deliveries_campaign_created_at_id ON deliveries (campaign_id, created_at, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_deliveries_status_created_at_id ON deliveries (status, created_at, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_deliveries_campaign_customer ON deliveries (campaign_id, customer_id)");
+    }
+
+    private void createPartition(LocalDate day) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day) + " PARTITION OF deliveries " +
+                "FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+    }
+
+    /**
+     * cutoff 이전 데이터를 일별 요약으로 남기고 원본 삭제
+     * @return 삭제한 파티션 수
+     */
+    private int archiveExpiredPartitions(LocalDate cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname::text FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+                "WHERE p.relname = ? AND n.nspname = current_schema()", String.class, PARENT_TABLE);
+
+        int dropped = 0;
+        for (String partition : partitions) {
+            LocalDate day = partitionDay(partition);
+            if (day == null || !day.isBefore(cutoff)) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                summarize(partition, null);
+                jdbcTemplate.execute("ALTER TABLE deliveries DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            });
+            System.out.println("발송 파티션 보관 만료로 요약 후 삭제: " + partition);
+            dropped++;
+        }
+
+        // 전환 이전의 오래된 데이터가 들어 있는 기본 파티션도 같은 기준으로 정리
+        if (partitions.contains(DEFAULT_PARTITION)) {
+            Timestamp cutoffTime = Timestamp.valueOf(cutoff.atStartOfDay());
+            Integer deleted = transactionTemplate.execute(status -> {
+                summarize(DEFAULT_PARTITION, cutoffTime);
+                return jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE created_at < ?", cutoffTime);
+            });
+            if (deleted != null && deleted > 0) {
+                System.out.println("기본 파티션 보관 만료 데이터 요약 후 삭제: " + deleted + "건");
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    // 일별/캠페인별/상태별 건수를 요약 테이블에 누적
+    private void summarize(String table, Timestamp before) {
+        String where = before != null ? " WHERE created_at < ?" : "";
+        String sql = "INSERT INTO delivery_daily_summary (summary_date, campaign_id, status, delivery_count) " +
+                "SELECT CAST(created_at AS date), campaign_id, status, COUNT(*) FROM " + table + where +
+                " GROUP BY CAST(created_at AS date), campaign_id, status " +
+                "ON CONFLICT (summary_date, campaign_id, status) " +
+                "DO UPDATE SET delivery_count = delivery_daily_summary.delivery_count + EXCLUDED.delivery_count";
+        if (before != null) {
+            jdbcTemplate.update(sql, before);
+        } else {
+            jdbcTemplate.update(sql);
+        }
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+
+    private static LocalDate partitionDay(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
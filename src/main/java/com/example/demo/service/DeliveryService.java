@@ -1,22 +1,35 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.DeliveryDto;
 import com.example.demo.entity.Delivery;
 import com.example.demo.entity.Delivery.DeliveryStatus;
 import com.example.demo.entity.Campaign;
+import com.example.demo.entity.CampaignSendCheckpoint;
+import com.example.demo.entity.CampaignStatus;
 import com.example.demo.entity.Customer;
+import com.example.demo.repository.DeliveryBatchRepository;
 import com.example.demo.repository.DeliveryRepository;
 import com.example.demo.repository.CampaignRepository;
-import com.example.demo.repository.CustomerRepository;
-import com.example.demo.repository.TargetingLocationRepository;
+import com.example.demo.repository.CampaignSendCheckpointRepository;
+import com.example.demo.util.GeoUtils;
+import com.example.demo.util.KeysetCursor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.time.LocalDate;
 
 @Service
@@ -29,22 +42,53 @@ public class DeliveryService {
     private CampaignRepository campaignRepository;
     
     @Autowired
-    private CustomerRepository customerRepository;
+    private CustomerService customerService;
     
     @Autowired
-    private TargetingLocationRepository targetingLocationRepository;
+    private EntityLookupCache entityLookupCache;
     
-
+    @Autowired
+    private DeliveryBatchRepository deliveryBatchRepository;
     
     @Autowired
     private DeliveryStreamService deliveryStreamService;
     
-    // 병렬 처리 제거로 인한 ExecutorService 제거
+    @Autowired
+    private DeliveryStatsStore deliveryStatsStore;
+    
+    @Autowired
+    private DeliveryHistogramService deliveryHistogramService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private CampaignSendPartitionExecutor campaignSendPartitionExecutor;
+    
+    @Autowired
+    private CampaignSendCheckpointRepository campaignSendCheckpointRepository;
+    
+    @Autowired
+    private SendRateGovernor sendRateGovernor;
+    
+    // 발송 데이터 일괄 저장 청크 크기 (청크마다 커밋)
+    @Value("${app.delivery.chunk-size:1000}")
+    private int chunkSize;
+    
+    // 발송 한 건을 나눌 파티션 수 (동시 실행 수는 CampaignSendPartitionExecutor가 제한)
+    @Value("${app.send.partitions:4}")
+    private int partitionCount;
+    
+    // 목록 조회 한 페이지 최대 건수
+    private static final int MAX_FEED_PAGE_SIZE = 1000;
     
     /**
      * 캠페인별 총 발송 건수 조회
      */
     public long countDeliveriesByCampaignId(UUID campaignId) {
+        if (deliveryStatsStore.isReady()) {
+            return deliveryStatsStore.getCampaignCount(campaignId);
+        }
         return deliveryRepository.countByCampaignId(campaignId);
     }
     
@@ -52,6 +96,9 @@ public class DeliveryService {
      * 캠페인별 성공한 발송 건수 조회
      */
     public long countSuccessfulDeliveriesByCampaignId(UUID campaignId) {
+        if (deliveryStatsStore.isReady()) {
+            return deliveryStatsStore.getCampaignCount(campaignId, DeliveryStatus.SENT, DeliveryStatus.SUCCESS);
+        }
         return deliveryRepository.countByCampaignIdAndStatusIn(
             campaignId, 
             List.of(DeliveryStatus.SENT, DeliveryStatus.SUCCESS)
@@ -61,107 +108,102 @@ public class DeliveryService {
     /**
      * 캠페인 발송 시뮬레이션
      */
-    @Transactional
     public Map<String, Object> simulateCampaignDelivery(UUID campaignId) {
-        Campaign campaign = campaignRepository.findById(campaignId)
+        return simulateCampaignDelivery(campaignId, null);
+    }
+    
+    /**
+     * 캠페인 발송 시뮬레이션 (발송 작업 진행 상황 기록)
+     * 대상 반경을 위도 구간 파티션으로 나눠 동시에 처리하고, 파티션마다 대상 고객 ID를 청크 크기만큼씩 읽어
+     * 일괄 INSERT 후 청크마다 커밋한다. 대상 수와 무관하게 메모리에는 파티션별 한 청크와 누적 건수만 남는다.
+     * 파티션별 진행 지점을 청크와 같은 트랜잭션에 저장하므로, 중단된 발송을 다시 실행하면 기존 발송을 지우지 않고
+     * 마지막으로 커밋된 청크 다음부터 이어서 보낸다. 이미 저장된 (캠페인, 고객) 행은 INSERT 시 건너뛴다.
+     */
+    public Map<String, Object> simulateCampaignDelivery(UUID campaignId, CampaignSendJob job) {
+        EntityLookupCache.CampaignSnapshot campaign = entityLookupCache.getCampaign(campaignId)
                 .orElseThrow(() -> new RuntimeException("캠페인을 찾을 수 없습니다."));
         
-        // 기존 발송 데이터 삭제 (중복 방지)
-        List<Delivery> existingDeliveries = deliveryRepository.findByCampaignIdOrderByCreatedAtDesc(campaignId);
-        if (!existingDeliveries.isEmpty()) {
-            System.out.println("기존 발송 데이터 " + existingDeliveries.size() + "건 삭제");
-            deliveryRepository.deleteAll(existingDeliveries);
+        // 진행 지점이 남아 있으면 중단된 발송이므로 이어서 보내고, 아니면 기존 발송 데이터 삭제 (중복 방지)
+        List<CampaignSendCheckpoint> checkpoints = campaignSendCheckpointRepository.findByCampaignIdOrderByPartitionIndex(campaignId);
+        boolean resuming = !checkpoints.isEmpty();
+        if (!resuming) {
+            int deleted = clearCampaignDeliveries(campaignId);
+            if (deleted > 0) {
+                System.out.println("기존 발송 데이터 " + deleted + "건 삭제");
+            }
+        } else {
+            System.out.println("중단된 발송 이어서 진행: " + campaignId + " (파티션 " + checkpoints.size() + "개)");
         }
         
-        List<Customer> targetCustomers = new ArrayList<>();
-        
-        // 타겟팅 위치가 있는 경우
-        if (campaign.getTargetingLocation() != null) {
-            targetCustomers = customerRepository.findCustomersNearLocation(
-                    campaign.getTargetingLocation().getCenterLat(),
-                    campaign.getTargetingLocation().getCenterLng(),
-                    campaign.getTargetingLocation().getRadiusM()
-            );
+        // 타겟팅 위치가 없으면 발송 대상이 없다
+        EntityLookupCache.TargetingSnapshot targetingLocation = entityLookupCache
+                .getTargetingLocation(campaign.targetingLocationId()).orElse(null);
+        if (targetingLocation == null) {
+            campaignSendCheckpointRepository.deleteByCampaignIdInBulk(campaignId);
+            return emptyDeliveryResult();
         }
-
         
-        if (targetCustomers.isEmpty()) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("totalDeliveries", 0);
-            result.put("sentCount", 0);
-            result.put("failedCount", 0);
-            result.put("pendingCount", 0);
-            result.put("successRate", 0.0);
-            result.put("message", "타겟팅이 설정되지 않았거나 타겟 고객이 없습니다.");
-            return result;
+        if (job != null) {
+            job.setTotalTargets(customerService.countCustomersNearLocation(
+                    targetingLocation.centerLat(), targetingLocation.centerLng(), targetingLocation.radiusM()));
         }
         
-        List<Delivery> deliveries = new ArrayList<>();
-        
-        // 각 고객에 대해 순차 발송 시뮬레이션 (더 빠른 처리)
-        for (Customer customer : targetCustomers) {
-            try {
-                Delivery delivery = simulateDeliveryToCustomer(campaign, customer);
-                if (delivery != null) {
-                    deliveries.add(delivery);
-                }
-            } catch (Exception e) {
-                System.err.println("발송 처리 중 오류: " + e.getMessage());
-                // 실패한 발송 처리
-                Delivery failedDelivery = new Delivery(campaign, null);
-                failedDelivery.setStatus(DeliveryStatus.FAILED);
-                failedDelivery.setErrorCode("SIMULATION_ERROR");
-                failedDelivery.setCreatedAt(LocalDateTime.now());
-                failedDelivery.setMessageTextSent(campaign.getMessage());
-                deliveries.add(deliveryRepository.save(failedDelivery));
+        UUID companyId = campaign.companyId();
+        SendRateGovernor.Channel channel = SendRateGovernor.Channel.of(campaign.imageUrl());
+        // 발송 행에는 캠페인 ID만 필요하므로 조회 없이 참조만 만든다
+        Campaign campaignRef = campaignRepository.getReferenceById(campaignId);
+        
+        // 대상 반경을 위도 구간으로 나눠 파티션별 진행 지점을 만든다 (이어서 보낼 때는 저장된 구간을 그대로 쓴다)
+        if (checkpoints.isEmpty()) {
+            double[] bounds = partitionLatitudes(targetingLocation.centerLat(), targetingLocation.centerLng(),
+                    targetingLocation.radiusM(), Math.max(1, partitionCount));
+            List<CampaignSendCheckpoint> created = new ArrayList<>(bounds.length - 1);
+            for (int p = 0; p < bounds.length - 1; p++) {
+                created.add(new CampaignSendCheckpoint(campaignId, p, bounds[p], bounds[p + 1]));
             }
+            checkpoints = campaignSendCheckpointRepository.saveAll(created);
         }
         
-        // 통계 계산
-        long sentCount = 0;
-        long failedCount = 0;
-        long pendingCount = 0;
-        
-        for (Delivery delivery : deliveries) {
-            try {
-                switch (delivery.getStatus()) {
-                    case SENT:
-                    case SUCCESS:
-                        sentCount++;
-                        break;
-                    case FAILED:
-                        failedCount++;
-                        break;
-                    case PENDING:
-                        pendingCount++;
-                        break;
-                    default:
-                        failedCount++;
-                        break;
-                }
-            } catch (Exception e) {
-                failedCount++;
+        // 파티션별로 동시에 발송하고 파티션별 건수를 합친다
+        List<Callable<long[]>> partitions = new ArrayList<>(checkpoints.size());
+        for (CampaignSendCheckpoint checkpoint : checkpoints) {
+            partitions.add(() -> sendPartition(campaignRef, campaign.message(), companyId, channel,
+                    targetingLocation, checkpoint, resuming, job));
+        }
+        long[] counts = new long[4]; // total, sent, failed, pending
+        for (long[] partitionCounts : campaignSendPartitionExecutor.invokeAll(partitions)) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += partitionCounts[i];
             }
         }
+        // 모든 파티션이 끝났으므로 진행 지점 정리 (실패한 파티션이 있으면 위에서 예외가 나 남아 있게 된다)
+        campaignSendCheckpointRepository.deleteByCampaignIdInBulk(campaignId);
         
-        double successRate = calculateSuccessRate(deliveries);
+        long totalCount = counts[0];
+        if (totalCount == 0) {
+            return emptyDeliveryResult();
+        }
+        long sentCount = counts[1];
+        long failedCount = counts[2];
+        long pendingCount = counts[3];
+        
+        double successRate = totalCount > 0 ? (double) sentCount / totalCount * 100 : 0.0;
         
         System.out.println("발송 결과:");
-        System.out.println("- 총 발송: " + deliveries.size() + "건");
+        System.out.println("- 총 발송: " + totalCount + "건");
         System.out.println("- 성공: " + sentCount + "건");
         System.out.println("- 실패: " + failedCount + "건");
         System.out.println("- 성공률: " + successRate + "%");
         
-        // 캠페인 상태 업데이트
-        if (failedCount == deliveries.size()) {
-            campaign.setStatus("FAILED");
+        // 캠페인 상태 업데이트 (전체 실패 시 재발송할 수 있도록 초안 상태로 되돌림)
+        if (failedCount == totalCount) {
+            campaignRepository.updateStatus(campaignId, CampaignStatus.DRAFT);
         } else {
-            campaign.setStatus("COMPLETED");
+            campaignRepository.updateStatus(campaignId, CampaignStatus.COMPLETED);
         }
-        campaignRepository.save(campaign);
         
         Map<String, Object> result = new HashMap<>();
-        result.put("totalDeliveries", deliveries.size());
+        result.put("totalDeliveries", totalCount);
         result.put("sentCount", sentCount);
         result.put("failedCount", failedCount);
         result.put("pendingCount", pendingCount);
@@ -172,48 +214,224 @@ public class DeliveryService {
     }
     
     /**
-     * 개별 고객 발송 시뮬레이션
+     * 캠페인 발송 내역 초기화 (발송과 별개로 호출, 발송 중인 캠페인은 불가)
+     * 상태 확인과 삭제를 한 트랜잭션에서 캠페인 행을 잠근 채 하므로, 확인 직후 시작된 발송의 내역을 지우지 않는다.
+     * @return 삭제된 발송 건수
      */
-    private Delivery simulateDeliveryToCustomer(Campaign campaign, Customer customer) {
-        try {
-            Delivery delivery = new Delivery(campaign, customer);
-            delivery.setMessageTextSent(campaign.getMessage());
-            delivery.setCreatedAt(LocalDateTime.now());
-            
-            // 더 현실적인 성공/실패/대기 분포
-            // 70% 성공, 20% 실패, 10% 대기
-            double random = Math.random();
-            if (random < 0.70) {
-                // 성공 (70%)
-                delivery.setStatus(DeliveryStatus.SENT);
-                delivery.setSentAt(LocalDateTime.now());
-                
-                // 지연 제거 - 즉시 처리
-            } else if (random < 0.90) {
-                // 실패 (20%)
-                delivery.setStatus(DeliveryStatus.FAILED);
-                delivery.setErrorCode("SIMULATION_FAILED");
-            } else {
-                // 대기 (10%)
-                delivery.setStatus(DeliveryStatus.PENDING);
+    public int resetCampaignDeliveries(UUID campaignId) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            CampaignStatus campaignStatus = campaignRepository.findStatusByIdForUpdate(campaignId)
+                    .orElseThrow(() -> new RuntimeException("캠페인을 찾을 수 없습니다."));
+            if (campaignStatus == CampaignStatus.SENDING) {
+                throw new IllegalStateException("발송 중인 캠페인은 발송 내역을 초기화할 수 없습니다.");
             }
+            return deleteCampaignDeliveries(campaignId);
+        });
+        System.out.println("캠페인 발송 내역 초기화: " + campaignId + " (" + deleted + "건)");
+        return deleted != null ? deleted : 0;
+    }
+    
+    /**
+     * 캠페인 발송 내역과 발송 진행 지점 삭제 (새 발송 시작 시, 한 트랜잭션)
+     */
+    private int clearCampaignDeliveries(UUID campaignId) {
+        Integer deleted = transactionTemplate.execute(status -> deleteCampaignDeliveries(campaignId));
+        return deleted != null ? deleted : 0;
+    }
+    
+    /**
+     * 캠페인 발송 내역과 발송 진행 지점을 DELETE 문 한 번씩으로 삭제하고 메모리 집계에서 제외 (호출한 트랜잭션 안에서)
+     * (발송 엔티티를 읽어 건별로 삭제하지 않는다)
+     */
+    private int deleteCampaignDeliveries(UUID campaignId) {
+        campaignSendCheckpointRepository.deleteByCampaignIdInBulk(campaignId);
+        int rows = deliveryRepository.deleteByCampaignIdInBulk(campaignId);
+        if (rows > 0) {
+            // 커밋 후 반영된다
+            deliveryStatsStore.removeCampaignDeliveries(campaignId);
+        }
+        return rows;
+    }
+    
+    /**
+     * 파티션 하나 발송 (진행 지점의 위도 구간 대상, 저장된 마지막 키 다음부터)
+     * 청크 INSERT와 진행 지점 갱신을 한 트랜잭션으로 커밋하고, 메모리에는 한 청크와 파티션 누적 건수만 둔다.
+     * 이어서 보내는 경우에만 이미 저장된 행을 건너뛰는 INSERT를 쓴다 (새 발송은 기존 행을 지운 뒤라 겹칠 수 없다).
+     * 청크마다 발송 속도 제한에서 토큰을 받은 뒤 보낸다 (대기는 트랜잭션 밖에서 하므로 커넥션을 붙잡지 않는다).
+     * @return {total, sent, failed, pending} (이전 실행에서 커밋된 건수 포함)
+     */
+    private long[] sendPartition(Campaign campaignRef, String message, UUID companyId, SendRateGovernor.Channel channel,
+                                 EntityLookupCache.TargetingSnapshot targetingLocation,
+                                 CampaignSendCheckpoint checkpoint, boolean resuming, CampaignSendJob job) {
+        UUID campaignId = campaignRef.getId();
+        long[] counts = {0, checkpoint.getSentCount(), checkpoint.getFailedCount(), checkpoint.getPendingCount()};
+        if (job != null) {
+            job.recordChunk(counts[1], counts[2], counts[3]);
+        }
+        if (!checkpoint.isCompleted()) {
+            CustomerService.CustomerKey after = checkpoint.getLastCustomerId() == null ? null
+                    : new CustomerService.CustomerKey(checkpoint.getLastLat(), checkpoint.getLastLng(), checkpoint.getLastCustomerId());
+            long[] skipped = new long[1];
+            customerService.forEachCustomerIdChunkNearLocation(
+                    targetingLocation.centerLat(),
+                    targetingLocation.centerLng(),
+                    targetingLocation.radiusM(),
+                    checkpoint.fromLatOrMin(),
+                    checkpoint.toLatOrMax(),
+                    after,
+                    chunkSize,
+                    (customerIds, lastKey) -> {
+                        // 회사/채널 한도를 넘으면 실패시키지 않고 차례가 올 때까지 기다린다
+                        sendRateGovernor.acquire(companyId, channel, customerIds.size());
+                        
+                        List<Delivery> chunk = new ArrayList<>(customerIds.size());
+                        for (UUID customerId : customerIds) {
+                            // 발송 행에는 고객 ID만 필요하므로 조회하지 않는다
+                            Customer customer = new Customer();
+                            customer.setId(customerId);
+                            chunk.add(simulateDeliveryToCustomer(campaignRef, message, customer));
+                        }
+                        
+                        long[] chunkCounts = new long[3]; // sent, failed, pending
+                        List<Delivery> inserted = transactionTemplate.execute(status -> {
+                            List<Delivery> rows = chunk;
+                            if (resuming) {
+                                rows = deliveryBatchRepository.insertAllSkippingExisting(chunk);
+                            } else {
+                                deliveryBatchRepository.insertAll(chunk);
+                            }
+                            countByStatus(rows, chunkCounts);
+                            campaignSendCheckpointRepository.advance(checkpoint.getId(), lastKey.lat(), lastKey.lng(), lastKey.id(),
+                                    chunkCounts[0], chunkCounts[1], chunkCounts[2], LocalDateTime.now());
+                            // 커밋 후 메모리 집계에 반영된다
+                            deliveryStatsStore.recordCreated(campaignId, companyId, rows);
+                            return rows;
+                        });
+                        skipped[0] += chunk.size() - inserted.size();
+                        
+                        for (Delivery delivery : inserted) {
+                            publishDeliveryCreated(delivery, companyId);
+                        }
+                        
+                        counts[1] += chunkCounts[0];
+                        counts[2] += chunkCounts[1];
+                        counts[3] += chunkCounts[2];
+                        if (job != null) {
+                            job.recordChunk(chunkCounts[0], chunkCounts[1], chunkCounts[2]);
+                        }
+                    });
+            campaignSendCheckpointRepository.markCompleted(checkpoint.getId(), LocalDateTime.now());
+            if (skipped[0] > 0) {
+                System.out.println("이미 저장된 발송 " + skipped[0] + "건 건너뜀 (캠페인 " + campaignId
+                        + ", 파티션 " + checkpoint.getPartitionIndex() + ")");
+            }
+        }
+        counts[0] = counts[1] + counts[2] + counts[3];
+        return counts;
+    }
+    
+    // 발송 상태별 건수 누적 {sent, failed, pending}
+    private static void countByStatus(List<Delivery> deliveries, long[] counts) {
+        for (Delivery delivery : deliveries) {
+            switch (delivery.getStatus()) {
+                case SENT:
+                case SUCCESS:
+                    counts[0]++;
+                    break;
+                case PENDING:
+                    counts[2]++;
+                    break;
+                default:
+                    counts[1]++;
+                    break;
+            }
+        }
+    }
+    
+    /**
+     * 반경을 위도 구간으로 나눈 경계 (구간마다 원 면적이 같도록, 양 끝은 무한대)
+     * 면적 비율 F(y) = 1/2 + (y·√(1-y²) + asin y) / π 를 이분법으로 역산한다 (y: 중심 기준 위도 / 반경).
+     */
+    static double[] partitionLatitudes(double centerLat, double centerLng, double radiusM, int partitions) {
+        double[] box = GeoUtils.boundingBox(centerLat, centerLng, radiusM);
+        double halfHeight = box[1] - centerLat;
+        double[] bounds = new double[partitions + 1];
+        bounds[0] = Double.NEGATIVE_INFINITY;
+        bounds[partitions] = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < partitions; i++) {
+            double target = (double) i / partitions;
+            double low = -1;
+            double high = 1;
+            for (int iteration = 0; iteration < 50; iteration++) {
+                double y = (low + high) / 2;
+                double area = 0.5 + (y * Math.sqrt(1 - y * y) + Math.asin(y)) / Math.PI;
+                if (area < target) {
+                    low = y;
+                } else {
+                    high = y;
+                }
+            }
+            bounds[i] = centerLat + halfHeight * (low + high) / 2;
+        }
+        return bounds;
+    }
+    
+    // 발송 대상이 없을 때의 결과
+    private Map<String, Object> emptyDeliveryResult() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("totalDeliveries", 0);
+        result.put("sentCount", 0);
+        result.put("failedCount", 0);
+        result.put("pendingCount", 0);
+        result.put("successRate", 0.0);
+        result.put("message", "타겟팅이 설정되지 않았거나 타겟 고객이 없습니다.");
+        return result;
+    }
+    
+    /**
+     * 개별 고객 발송 시뮬레이션 (저장은 청크 단위로 일괄 처리)
+     */
+    private Delivery simulateDeliveryToCustomer(Campaign campaign, String message, Customer customer) {
+        Delivery delivery = new Delivery(campaign, customer);
+        delivery.setMessageTextSent(message);
+        delivery.setCreatedAt(LocalDateTime.now());
+        
+        // 더 현실적인 성공/실패/대기 분포
+        // 70% 성공, 20% 실패, 10% 대기
+        double random = Math.random();
+        if (random < 0.70) {
+            // 성공 (70%)
+            delivery.setStatus(DeliveryStatus.SENT);
+            delivery.setSentAt(LocalDateTime.now());
             
-            Delivery saved = deliveryRepository.save(delivery);
-            try {
-                Map<String, Object> event = new HashMap<>();
-                event.put("type", "DELIVERY_CREATED");
-                event.put("id", saved.getId());
-                event.put("campaignId", campaign.getId());
-                event.put("customerId", customer.getId());
-                event.put("status", saved.getStatus().name());
-                event.put("createdAt", saved.getCreatedAt());
-                deliveryStreamService.publish(event);
-            } catch (Exception ignored) {}
-            return saved;
-        } catch (Exception e) {
-            System.err.println("고객 발송 시뮬레이션 중 오류: " + e.getMessage());
-            return null;
+            // 지연 제거 - 즉시 처리
+        } else if (random < 0.90) {
+            // 실패 (20%)
+            delivery.setStatus(DeliveryStatus.FAILED);
+            delivery.setErrorCode("SIMULATION_FAILED");
+        } else {
+            // 대기 (10%)
+            delivery.setStatus(DeliveryStatus.PENDING);
         }
+        
+        return delivery;
+    }
+    
+    /**
+     * 발송 생성 이벤트 전송
+     */
+    private void publishDeliveryCreated(Delivery delivery, UUID companyId) {
+        try {
+            Map<String, Object> event = new HashMap<>();
+            event.put("type", "DELIVERY_CREATED");
+            event.put("id", delivery.getId());
+            event.put("campaignId", delivery.getCampaign().getId());
+            event.put("companyId", companyId);
+            event.put("customerId", delivery.getCustomer().getId());
+            event.put("status", delivery.getStatus().name());
+            event.put("createdAt", delivery.getCreatedAt());
+            deliveryStreamService.publish(event);
+        } catch (Exception ignored) {}
     }
 
     /**
@@ -257,11 +475,25 @@ public class DeliveryService {
     public Map<String, Object> getDeliverySummary() {
         Map<String, Object> summary = new HashMap<>();
         
-        long totalDeliveries = deliveryRepository.count();
-        long sentCount = deliveryRepository.countByStatus(DeliveryStatus.SENT);
-        long failedCount = deliveryRepository.countByStatus(DeliveryStatus.FAILED);
-        long pendingCount = deliveryRepository.countByStatus(DeliveryStatus.PENDING);
-        long todayDeliveries = deliveryRepository.countTodayDeliveries();
+        long totalDeliveries;
+        long sentCount;
+        long failedCount;
+        long pendingCount;
+        long todayDeliveries;
+        if (deliveryStatsStore.isReady()) {
+            // 메모리 집계 사용 (DB 조회 없음)
+            totalDeliveries = deliveryStatsStore.getTotalCount();
+            sentCount = deliveryStatsStore.getCount(DeliveryStatus.SENT);
+            failedCount = deliveryStatsStore.getCount(DeliveryStatus.FAILED);
+            pendingCount = deliveryStatsStore.getCount(DeliveryStatus.PENDING);
+            todayDeliveries = deliveryStatsStore.getTodayCount();
+        } else {
+            totalDeliveries = deliveryRepository.count();
+            sentCount = deliveryRepository.countByStatus(DeliveryStatus.SENT);
+            failedCount = deliveryRepository.countByStatus(DeliveryStatus.FAILED);
+            pendingCount = deliveryRepository.countByStatus(DeliveryStatus.PENDING);
+            todayDeliveries = deliveryRepository.countTodayDeliveries();
+        }
         
         summary.put("totalDeliveries", totalDeliveries);
         summary.put("sentCount", sentCount);
@@ -334,17 +566,27 @@ public class DeliveryService {
     }
     
     /**
-     * 캠페인별 발송 목록 조회
+     * 캠페인별 발송 목록 조회 (커서 기반, 최신순)
      */
-    public List<Delivery> getDeliveriesByCampaign(UUID campaignId) {
-        return deliveryRepository.findByCampaignIdOrderByCreatedAtDesc(campaignId);
+    public CursorPage<DeliveryDto> getDeliveriesByCampaign(UUID campaignId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = feedLimit(size);
+        List<DeliveryDto> rows = after == null
+                ? deliveryRepository.findCampaignFeedFirst(campaignId, limit)
+                : deliveryRepository.findCampaignFeedAfter(campaignId, after.createdAt(), after.id(), limit);
+        return toCursorPage(rows, limit.getPageSize() - 1);
     }
     
     /**
-     * 상태별 발송 목록 조회
+     * 상태별 발송 목록 조회 (커서 기반, 최신순)
      */
-    public List<Delivery> getDeliveriesByStatus(DeliveryStatus status) {
-        return deliveryRepository.findByStatusOrderByCreatedAtDesc(status);
+    public CursorPage<DeliveryDto> getDeliveriesByStatus(DeliveryStatus status, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = feedLimit(size);
+        List<DeliveryDto> rows = after == null
+                ? deliveryRepository.findStatusFeedFirst(status, limit)
+                : deliveryRepository.findStatusFeedAfter(status, after.createdAt(), after.id(), limit);
+        return toCursorPage(rows, limit.getPageSize() - 1);
     }
     
     /**
@@ -395,12 +637,32 @@ public class DeliveryService {
     }
 
     /**
-     * 최근 발송 내역 조회
+     * 최근 발송 내역 조회 (커서 기반, 최신순)
      */
-    public List<Delivery> getRecentDeliveries() {
-        List<Delivery> allDeliveries = deliveryRepository.findAll();
-        allDeliveries.sort((d1, d2) -> d2.getCreatedAt().compareTo(d1.getCreatedAt()));
-        return allDeliveries.stream().limit(20).toList();
+    public CursorPage<DeliveryDto> getRecentDeliveries(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = feedLimit(size);
+        List<DeliveryDto> rows = after == null
+                ? deliveryRepository.findFeedFirst(limit)
+                : deliveryRepository.findFeedAfter(after.createdAt(), after.id(), limit);
+        return toCursorPage(rows, limit.getPageSize() - 1);
+    }
+    
+    // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+    private Pageable feedLimit(int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        return PageRequest.of(0, pageSize + 1);
+    }
+    
+    private CursorPage<DeliveryDto> toCursorPage(List<DeliveryDto> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<DeliveryDto> items = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            DeliveryDto last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasNext);
     }
 
     /**
@@ -455,6 +717,7 @@ public class DeliveryService {
         Delivery delivery = deliveryRepository.findById(deliveryId)
                 .orElseThrow(() -> new RuntimeException("발송을 찾을 수 없습니다."));
         
+        DeliveryStatus previousStatus = delivery.getStatus();
         delivery.setStatus(newStatus);
         
         if (newStatus == DeliveryStatus.SENT) {
@@ -462,11 +725,19 @@ public class DeliveryService {
         }
         
         Delivery updated = deliveryRepository.save(delivery);
+        
+        // 커밋 후 메모리 집계 반영
+        UUID campaignId = updated.getCampaign().getId();
+        UUID companyId = updated.getCampaign().getCompany() != null ? updated.getCampaign().getCompany().getId() : null;
+        deliveryStatsStore.recordStatusChange(campaignId, companyId, updated.getCreatedAt(), previousStatus, newStatus);
         try {
             Map<String, Object> event = new HashMap<>();
             event.put("type", "DELIVERY_UPDATED");
             event.put("id", updated.getId());
+            event.put("campaignId", updated.getCampaign().getId());
+            event.put("companyId", updated.getCampaign().getCompany() != null ? updated.getCampaign().getCompany().getId() : null);
             event.put("status", updated.getStatus().name());
+            event.put("previousStatus", previousStatus != null ? previousStatus.name() : null);
             event.put("sentAt", updated.getSentAt());
             event.put("updatedAt", LocalDateTime.now());
             deliveryStreamService.publish(event);
@@ -501,25 +772,20 @@ public class DeliveryService {
         // 한국 시간대 설정
         ZoneId koreaZone = ZoneId.of("Asia/Seoul");
         LocalDateTime now = LocalDateTime.now(koreaZone);
-        LocalDateTime startTime = now.minusMinutes(30);
+        // 분 단위 집계 행과 구간 경계가 맞도록 분 단위로 자른다 (마지막 구간이 현재 분까지 포함)
+        LocalDateTime startTime = now.truncatedTo(ChronoUnit.MINUTES).minusMinutes(29);
         
         List<Map<String, Object>> result = new ArrayList<>();
         
-        // 5분 간격으로 6개 구간 생성
-        for (int i = 0; i < 6; i++) {
-            LocalDateTime slotStart = startTime.plusMinutes(i * 5);
-            LocalDateTime slotEnd = slotStart.plusMinutes(5);
-            
-            // 해당 시간대의 발송 통계 조회
-            long totalCount = deliveryRepository.countByCreatedAtBetween(slotStart, slotEnd);
-            long sentCount = deliveryRepository.countByStatusAndCreatedAtBetween(DeliveryStatus.SENT, slotStart, slotEnd);
-            long failedCount = deliveryRepository.countByStatusAndCreatedAtBetween(DeliveryStatus.FAILED, slotStart, slotEnd);
-            
+        // 5분 간격으로 6개 구간 (쿼리 1회)
+        DeliveryHistogramService.Histogram histogram =
+                deliveryHistogramService.countByBucket(startTime, Duration.ofMinutes(5), 6);
+        for (int i = 0; i < histogram.size(); i++) {
             Map<String, Object> timeSlot = new HashMap<>();
-            timeSlot.put("time", slotStart.format(DateTimeFormatter.ofPattern("HH:mm")));
-            timeSlot.put("total", totalCount);
-            timeSlot.put("success", sentCount);
-            timeSlot.put("failed", failedCount);
+            timeSlot.put("time", histogram.bucketStart(i).format(DateTimeFormatter.ofPattern("HH:mm")));
+            timeSlot.put("total", histogram.total(i));
+            timeSlot.put("success", histogram.count(i, DeliveryStatus.SENT));
+            timeSlot.put("failed", histogram.count(i, DeliveryStatus.FAILED));
             
             result.add(timeSlot);
         }
@@ -533,22 +799,17 @@ public class DeliveryService {
     public List<Map<String, Object>> getTodayHourlyStats() {
         ZoneId koreaZone = ZoneId.of("Asia/Seoul");
         LocalDateTime todayStart = LocalDateTime.now(koreaZone).toLocalDate().atStartOfDay();
-        LocalDateTime todayEnd = todayStart.plusDays(1);
         
         List<Map<String, Object>> result = new ArrayList<>();
         
-        // 9시부터 18시까지 시간대별 통계
-        for (int hour = 9; hour <= 18; hour++) {
-            LocalDateTime hourStart = todayStart.plusHours(hour);
-            LocalDateTime hourEnd = hourStart.plusHours(1);
-            
-            long successCount = deliveryRepository.countByStatusAndCreatedAtBetween(DeliveryStatus.SENT, hourStart, hourEnd);
-            long failedCount = deliveryRepository.countByStatusAndCreatedAtBetween(DeliveryStatus.FAILED, hourStart, hourEnd);
-            
+        // 9시부터 18시까지 시간대별 통계 (쿼리 1회)
+        DeliveryHistogramService.Histogram histogram =
+                deliveryHistogramService.countByBucket(todayStart.plusHours(9), Duration.ofHours(1), 10);
+        for (int i = 0; i < histogram.size(); i++) {
             Map<String, Object> hourStat = new HashMap<>();
-            hourStat.put("hour", String.format("%02d:00", hour));
-            hourStat.put("success", successCount);
-            hourStat.put("failed", failedCount);
+            hourStat.put("hour", String.format("%02d:00", histogram.bucketStart(i).getHour()));
+            hourStat.put("success", histogram.count(i, DeliveryStatus.SENT));
+            hourStat.put("failed", histogram.count(i, DeliveryStatus.FAILED));
             
             result.add(hourStat);
         }
@@ -565,18 +826,14 @@ public class DeliveryService {
         
         List<Map<String, Object>> result = new ArrayList<>();
         
-        // 현재 시간부터 -4시간까지 5개 시간대 생성
-        for (int i = 4; i >= 0; i--) {
-            LocalDateTime targetTime = now.minusHours(i);
-            LocalDateTime hourStart = targetTime.withMinute(0).withSecond(0).withNano(0);
-            LocalDateTime hourEnd = hourStart.plusHours(1);
-            
-            // 해당 시간대의 총 발송 건수 조회
-            long totalCount = deliveryRepository.countByCreatedAtBetween(hourStart, hourEnd);
-            
+        // 현재 시간부터 -4시간까지 5개 시간대 (쿼리 1회)
+        LocalDateTime firstHour = now.minusHours(4).truncatedTo(ChronoUnit.HOURS);
+        DeliveryHistogramService.Histogram histogram =
+                deliveryHistogramService.countByBucket(firstHour, Duration.ofHours(1), 5);
+        for (int i = 0; i < histogram.size(); i++) {
             Map<String, Object> hourStat = new HashMap<>();
-            hourStat.put("hour", hourStart.getHour()); // 숫자로 반환 (예: 15)
-            hourStat.put("count", totalCount);
+            hourStat.put("hour", histogram.bucketStart(i).getHour()); // 숫자로 반환 (예: 15)
+            hourStat.put("count", histogram.total(i));
             
             result.add(hourStat);
         }
@@ -666,31 +923,20 @@ public class DeliveryService {
      */
     public Map<String, Object> getRecentDeliveriesByTimeSlot() {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime thirtyMinutesAgo = now.minusMinutes(30);
+        // 분 단위 집계 행과 구간 경계가 맞도록 분 단위로 자른다 (마지막 구간이 현재 분까지 포함)
+        LocalDateTime thirtyMinutesAgo = now.truncatedTo(ChronoUnit.MINUTES).minusMinutes(29);
         
         List<Map<String, Object>> timeSlots = new ArrayList<>();
         
-        // 5분 간격으로 6개 구간 생성 (30분)
-        for (int i = 0; i < 6; i++) {
-            LocalDateTime slotStart = thirtyMinutesAgo.plusMinutes(i * 5);
-            LocalDateTime slotEnd = slotStart.plusMinutes(5);
-            
-            // 해당 시간대의 발송 데이터 조회
-            List<Delivery> deliveries = deliveryRepository.findByCreatedAtBetween(slotStart, slotEnd);
-            
-            int totalCount = deliveries.size();
-            int successCount = (int) deliveries.stream()
-                .filter(d -> d.getStatus() == DeliveryStatus.SENT)
-                .count();
-            int failedCount = (int) deliveries.stream()
-                .filter(d -> d.getStatus() == DeliveryStatus.FAILED)
-                .count();
-            
+        // 5분 간격으로 6개 구간 (30분, 쿼리 1회)
+        DeliveryHistogramService.Histogram histogram =
+                deliveryHistogramService.countByBucket(thirtyMinutesAgo, Duration.ofMinutes(5), 6);
+        for (int i = 0; i < histogram.size(); i++) {
             Map<String, Object> slot = new HashMap<>();
-            slot.put("time", slotStart.format(DateTimeFormatter.ofPattern("HH:mm")));
-            slot.put("total", totalCount);
-            slot.put("success", successCount);
-            slot.put("failed", failedCount);
+            slot.put("time", histogram.bucketStart(i).format(DateTimeFormatter.ofPattern("HH:mm")));
+            slot.put("total", histogram.total(i));
+            slot.put("success", histogram.count(i, DeliveryStatus.SENT));
+            slot.put("failed", histogram.count(i, DeliveryStatus.FAILED));
             
             timeSlots.add(slot);
         }
@@ -707,32 +953,19 @@ public class DeliveryService {
      * 오늘 시간대별 발송 통계 조회
      */
     public Map<String, Object> getHourlyDeliveries() {
-        LocalDateTime todayStart = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
-        LocalDateTime todayEnd = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59).withNano(999999999);
+        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
         
         List<Map<String, Object>> hourlyStats = new ArrayList<>();
         
-        // 24시간 데이터 생성
-        for (int hour = 0; hour < 24; hour++) {
-            LocalDateTime hourStart = todayStart.plusHours(hour);
-            LocalDateTime hourEnd = hourStart.plusHours(1).minusNanos(1);
-            
-            // 해당 시간대의 발송 데이터 조회
-            List<Delivery> deliveries = deliveryRepository.findByCreatedAtBetween(hourStart, hourEnd);
-            
-            int totalCount = deliveries.size();
-            int successCount = (int) deliveries.stream()
-                .filter(d -> d.getStatus() == DeliveryStatus.SENT)
-                .count();
-            int failedCount = (int) deliveries.stream()
-                .filter(d -> d.getStatus() == DeliveryStatus.FAILED)
-                .count();
-            
+        // 24시간 데이터 생성 (쿼리 1회)
+        DeliveryHistogramService.Histogram histogram =
+                deliveryHistogramService.countByBucket(todayStart, Duration.ofHours(1), 24);
+        for (int hour = 0; hour < histogram.size(); hour++) {
             Map<String, Object> hourData = new HashMap<>();
             hourData.put("hour", String.format("%02d:00", hour));
-            hourData.put("total", totalCount);
-            hourData.put("success", successCount);
-            hourData.put("failed", failedCount);
+            hourData.put("total", histogram.total(hour));
+            hourData.put("success", histogram.count(hour, DeliveryStatus.SENT));
+            hourData.put("failed", histogram.count(hour, DeliveryStatus.FAILED));
             
             hourlyStats.add(hourData);
         }
@@ -0,0 +1,454 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Delivery;
+import com.example.demo.entity.Delivery.DeliveryStatus;
+import com.example.demo.repository.CampaignRepository;
+import com.example.demo.repository.DeliveryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 발송 통계 메모리 집계 저장소
+ * 상태별/캠페인별/회사별/시간대별 건수를 발송 생성·상태 변경 시점에 증분 갱신한다.
+ * 시작 시 DB에서 적재하고 주기적으로 DB와 다시 맞춘다.
+ * 트랜잭션 안에서 들어온 변경은 커밋 후에 반영하고, 커밋부터 반영까지는 재적재 스냅샷이 잡히지 않도록 막아
+ * 재적재 결과와 다시 적용하는 변경이 겹치지 않게 한다.
+ * 고유 도달 고객 수는 증분 계산이 어려워 변경이 있을 때만 백그라운드에서 다시 센다.
+ */
+@Service
+public class DeliveryStatsStore {
+
+    private static final int STATUS_COUNT = DeliveryStatus.values().length;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 시간대별 건수 보관 일수
+    @Value("${app.stats.bucket-retention-days:8}")
+    private int bucketRetentionDays;
+
+    private Counters counters = new Counters();
+    private volatile boolean ready = false;
+
+    // 도달 고객 수 재계산 필요 여부
+    private final AtomicBoolean reachedDirty = new AtomicBoolean(false);
+
+    // 재적재 스냅샷 이후 반영된 변경 내역 (재적재 완료 후 다시 적용)
+    private List<Consumer<Counters>> pendingChanges;
+    private final AtomicBoolean reconciling = new AtomicBoolean(false);
+
+    // 커밋~반영 구간은 읽기 잠금, 재적재 스냅샷을 잡는 순간은 쓰기 잠금
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    /**
+     * DB 기준으로 전체 집계 재적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Counters loaded = load();
+            synchronized (this) {
+                for (Consumer<Counters> change : pendingChanges) {
+                    change.accept(loaded);
+                }
+                pendingChanges = null;
+                counters = loaded;
+                ready = true;
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            System.err.println("발송 통계 재적재 실패: " + e.getMessage());
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    /**
+     * 도달 고객 수 갱신 (발송 변경이 있었던 경우만)
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reached-refresh-ms:10000}")
+    public void refreshReachedCustomers() {
+        if (!ready || !reachedDirty.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            long reached = deliveryRepository.countDistinctCustomerIdByStatus(DeliveryStatus.SENT);
+            synchronized (this) {
+                counters.reachedCustomers = reached;
+            }
+        } catch (RuntimeException e) {
+            reachedDirty.set(true);
+            System.err.println("도달 고객 수 갱신 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 한 스냅샷으로 전체 집계 조회 (REPEATABLE READ라 모든 조회가 첫 조회 시점의 데이터를 본다)
+     * 첫 조회와 변경 수집 시작을 커밋 중인 변경이 없을 때 함께 해 두면, 스냅샷에 포함된 변경은 그 전에 반영이 끝났고
+     * 수집된 변경은 스냅샷 이후에 커밋된 것이라 다시 적용해도 두 번 세지 않는다.
+     */
+    private Counters load() {
+        TransactionTemplate snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setReadOnly(true);
+        snapshotTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        LocalDateTime since = LocalDate.now().minusDays(bucketRetentionDays - 1L).atStartOfDay();
+
+        return snapshotTemplate.execute(status -> {
+            Counters loaded = new Counters();
+            commitLock.writeLock().lock();
+            try {
+                loaded.totalCampaigns = campaignRepository.count();
+                synchronized (this) {
+                    pendingChanges = new ArrayList<>();
+                }
+            } finally {
+                commitLock.writeLock().unlock();
+            }
+            for (Object[] row : deliveryRepository.countGroupByCampaignAndStatus()) {
+                UUID campaignId = (UUID) row[0];
+                UUID companyId = (UUID) row[1];
+                DeliveryStatus deliveryStatus = (DeliveryStatus) row[2];
+                long count = (Long) row[3];
+                loaded.add(campaignId, companyId, deliveryStatus, count);
+            }
+            for (Object[] row : deliveryRepository.countHourlyGroupByCampaignAndStatus(since)) {
+                UUID campaignId = (UUID) row[0];
+                LocalDateTime hour = LocalDateTime.of(
+                        ((Number) row[1]).intValue(), ((Number) row[2]).intValue(), ((Number) row[3]).intValue(),
+                        ((Number) row[4]).intValue(), 0);
+                DeliveryStatus deliveryStatus = (DeliveryStatus) row[5];
+                long count = (Long) row[6];
+                loaded.addHourly(campaignId, hour, deliveryStatus, count);
+            }
+            loaded.reachedCustomers = deliveryRepository.countDistinctCustomerIdByStatus(DeliveryStatus.SENT);
+            return loaded;
+        });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 발송 생성 반영
+     */
+    public void recordCreated(UUID campaignId, UUID companyId, List<Delivery> deliveries) {
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        List<Delivery> created = List.copyOf(deliveries);
+        apply(target -> {
+            for (Delivery delivery : created) {
+                target.add(campaignId, companyId, delivery.getStatus(), 1);
+                target.addHourly(campaignId, hourOf(delivery.getCreatedAt()), delivery.getStatus(), 1);
+            }
+        });
+    }
+
+    /**
+     * 발송 상태 변경 반영
+     */
+    public void recordStatusChange(UUID campaignId, UUID companyId, LocalDateTime createdAt,
+                                   DeliveryStatus previousStatus, DeliveryStatus newStatus) {
+        if (previousStatus == newStatus) {
+            return;
+        }
+        LocalDateTime hour = hourOf(createdAt);
+        apply(target -> {
+            if (previousStatus != null) {
+                target.add(campaignId, companyId, previousStatus, -1);
+                target.addHourly(campaignId, hour, previousStatus, -1);
+            }
+            target.add(campaignId, companyId, newStatus, 1);
+            target.addHourly(campaignId, hour, newStatus, 1);
+        });
+    }
+
+    /**
+     * 캠페인 발송 데이터 삭제 반영
+     */
+    public void removeCampaignDeliveries(UUID campaignId) {
+        apply(target -> target.removeCampaign(campaignId));
+    }
+
+    /**
+     * 캠페인 생성/삭제 반영
+     */
+    public void recordCampaignCreated() {
+        apply(target -> target.totalCampaigns++);
+    }
+
+    public void recordCampaignDeleted(UUID campaignId) {
+        apply(target -> {
+            target.removeCampaign(campaignId);
+            target.totalCampaigns = Math.max(0, target.totalCampaigns - 1);
+        });
+    }
+
+    /**
+     * 회사 삭제 반영 (소속 캠페인 발송 건수 제외)
+     */
+    public void recordCompanyDeleted(UUID companyId, long campaignCount) {
+        apply(target -> {
+            List<UUID> campaignIds = new ArrayList<>();
+            for (Map.Entry<UUID, UUID> entry : target.companyByCampaign.entrySet()) {
+                if (companyId.equals(entry.getValue())) {
+                    campaignIds.add(entry.getKey());
+                }
+            }
+            for (UUID campaignId : campaignIds) {
+                target.removeCampaign(campaignId);
+            }
+            target.byCompany.remove(companyId);
+            target.totalCampaigns = Math.max(0, target.totalCampaigns - campaignCount);
+        });
+    }
+
+    // 조회
+
+    public synchronized long getTotalCount() {
+        return sum(counters.total);
+    }
+
+    public synchronized long getCount(DeliveryStatus status) {
+        return counters.total[status.ordinal()];
+    }
+
+    public synchronized long getCampaignCount(UUID campaignId, DeliveryStatus... statuses) {
+        return count(counters.byCampaign.get(campaignId), statuses);
+    }
+
+    public synchronized long getCompanyCount(UUID companyId, DeliveryStatus... statuses) {
+        return count(counters.byCompany.get(companyId), statuses);
+    }
+
+    public synchronized long getTodayCount() {
+        LocalDateTime start = LocalDate.now().atStartOfDay();
+        long total = 0;
+        for (long[] statusCounts : counters.byHour.subMap(start, start.plusDays(1)).values()) {
+            total += sum(statusCounts);
+        }
+        return total;
+    }
+
+    /**
+     * 시간대별·상태별 건수 (보관 기간 밖이면 null)
+     * @param start 정시 기준 첫 구간 시작 시각
+     */
+    public synchronized long[][] getHourlyCounts(LocalDateTime start, int hours) {
+        if (!ready || start.isBefore(LocalDate.now().minusDays(bucketRetentionDays - 1L).atStartOfDay())) {
+            return null;
+        }
+        long[][] result = new long[hours][STATUS_COUNT];
+        for (int i = 0; i < hours; i++) {
+            long[] statusCounts = counters.byHour.get(start.plusHours(i));
+            if (statusCounts != null) {
+                System.arraycopy(statusCounts, 0, result[i], 0, STATUS_COUNT);
+            }
+        }
+        return result;
+    }
+
+    public synchronized long getTotalCampaigns() {
+        return counters.totalCampaigns;
+    }
+
+    // 마지막 갱신 시점 값 (app.stats.reached-refresh-ms 주기로 갱신)
+    public synchronized long getReachedCustomers() {
+        return counters.reachedCustomers;
+    }
+
+    /**
+     * 상태별 건수 (상태 이름 → 건수)
+     */
+    public synchronized Map<String, Long> getStatusCounts() {
+        return toStatusMap(counters.total);
+    }
+
+    public synchronized Map<String, Long> getCampaignStatusCounts(UUID campaignId) {
+        return toStatusMap(counters.byCampaign.get(campaignId));
+    }
+
+    public synchronized Map<String, Long> getCompanyStatusCounts(UUID companyId) {
+        return toStatusMap(counters.byCompany.get(companyId));
+    }
+
+    /**
+     * 변경 반영 (트랜잭션 안이면 커밋 후)
+     * 커밋 직전부터 반영이 끝날 때까지 읽기 잠금을 쥐어, 재적재가 커밋은 됐지만 아직 반영되지 않은 변경을 사이에 두고
+     * 스냅샷을 잡지 않게 한다.
+     */
+    private void apply(Consumer<Counters> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyNow(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                applyNow(change);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    locked = false;
+                    commitLock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private synchronized void applyNow(Consumer<Counters> change) {
+        reachedDirty.set(true);
+        change.accept(counters);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private LocalDateTime hourOf(LocalDateTime time) {
+        return (time != null ? time : LocalDateTime.now()).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static Map<String, Long> toStatusMap(long[] statusCounts) {
+        Map<String, Long> result = new HashMap<>();
+        for (DeliveryStatus status : DeliveryStatus.values()) {
+            result.put(status.name(), statusCounts != null ? statusCounts[status.ordinal()] : 0L);
+        }
+        return result;
+    }
+
+    private static long count(long[] statusCounts, DeliveryStatus... statuses) {
+        if (statusCounts == null) {
+            return 0;
+        }
+        if (statuses.length == 0) {
+            return sum(statusCounts);
+        }
+        long total = 0;
+        for (DeliveryStatus status : statuses) {
+            total += statusCounts[status.ordinal()];
+        }
+        return total;
+    }
+
+    private static long sum(long[] statusCounts) {
+        long total = 0;
+        for (long count : statusCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 집계 값 (상태별 건수 배열은 DeliveryStatus.ordinal() 순서)
+     */
+    private final class Counters {
+        private final long[] total = new long[STATUS_COUNT];
+        private final Map<UUID, long[]> byCampaign = new HashMap<>();
+        private final Map<UUID, long[]> byCompany = new HashMap<>();
+        private final Map<UUID, UUID> companyByCampaign = new HashMap<>();
+        private final TreeMap<LocalDateTime, long[]> byHour = new TreeMap<>();
+        private final Map<UUID, Map<LocalDateTime, long[]>> byCampaignHour = new HashMap<>();
+        private long totalCampaigns;
+        private long reachedCustomers;
+
+        void add(UUID campaignId, UUID companyId, DeliveryStatus status, long delta) {
+            int index = status.ordinal();
+            total[index] += delta;
+            if (campaignId != null) {
+                byCampaign.computeIfAbsent(campaignId, key -> new long[STATUS_COUNT])[index] += delta;
+                if (companyId != null) {
+                    companyByCampaign.put(campaignId, companyId);
+                }
+            }
+            if (companyId != null) {
+                byCompany.computeIfAbsent(companyId, key -> new long[STATUS_COUNT])[index] += delta;
+            }
+        }
+
+        void addHourly(UUID campaignId, LocalDateTime hour, DeliveryStatus status, long delta) {
+            if (hour.isBefore(LocalDate.now().minusDays(bucketRetentionDays - 1L).atStartOfDay())) {
+                return;
+            }
+            int index = status.ordinal();
+            byHour.computeIfAbsent(hour, key -> new long[STATUS_COUNT])[index] += delta;
+            if (campaignId != null) {
+                byCampaignHour.computeIfAbsent(campaignId, key -> new HashMap<>())
+                        .computeIfAbsent(hour, key -> new long[STATUS_COUNT])[index] += delta;
+            }
+        }
+
+        // 캠페인 건수를 전체/회사/시간대 집계에서 뺀다
+        void removeCampaign(UUID campaignId) {
+            long[] campaignCounts = byCampaign.remove(campaignId);
+            UUID companyId = companyByCampaign.remove(campaignId);
+            if (campaignCounts != null) {
+                long[] companyCounts = companyId != null ? byCompany.get(companyId) : null;
+                for (int i = 0; i < STATUS_COUNT; i++) {
+                    total[i] -= campaignCounts[i];
+                    if (companyCounts != null) {
+                        companyCounts[i] -= campaignCounts[i];
+                    }
+                }
+            }
+            Map<LocalDateTime, long[]> campaignHours = byCampaignHour.remove(campaignId);
+            if (campaignHours != null) {
+                for (Map.Entry<LocalDateTime, long[]> entry : campaignHours.entrySet()) {
+                    long[] hourCounts = byHour.get(entry.getKey());
+                    if (hourCounts == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < STATUS_COUNT; i++) {
+                        hourCounts[i] -= entry.getValue()[i];
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,24 +1,212 @@
 package com.example.demo.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 발송 이벤트 SSE 스트림
+ * publish()는 공용 대기열에 넣기만 하고, 디스패처 스레드가 구독자별 대기열로 나눠 담는다.
+ * 구독자별 대기열은 작은 스레드 풀에서 구독자마다 하나의 작업으로 순서대로 전송된다.
+ * 이벤트에는 증가하는 ID가 붙고 최근 이벤트는 링 버퍼에 보관되어 재연결 시 다시 전송된다.
+ * 구독 필터(캠페인/회사/상태)별 색인으로 관심 있는 구독자에게만 분배한다.
+ */
 @Service
 public class DeliveryStreamService {
 
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    /**
+     * 구독자 대기열이 가득 찼을 때 처리 방식
+     */
+    public enum OverflowPolicy {
+        // 가장 오래된 이벤트를 버리고 새 이벤트를 넣는다
+        DROP_OLDEST,
+        // 밀린 이벤트를 모두 버리고 재조회 요청 이벤트 하나로 대체한다
+        COALESCE,
+        // 연결을 끊는다 (클라이언트가 재연결 후 다시 조회)
+        DISCONNECT
+    }
+
+    // 공용 대기열 크기
+    @Value("${app.stream.publish-queue-capacity:10000}")
+    private int publishQueueCapacity;
+
+    // 구독자별 대기열 크기
+    @Value("${app.stream.subscriber-queue-capacity:1000}")
+    private int subscriberQueueCapacity;
+
+    // 구독자 전송용 스레드 수
+    @Value("${app.stream.writer-threads:4}")
+    private int writerThreads;
+
+    @Value("${app.stream.overflow-policy:DROP_OLDEST}")
+    private OverflowPolicy overflowPolicy;
+
+    // 묶음 모드 기본 전송 간격 (ms)
+    @Value("${app.stream.batch-window-ms:100}")
+    private long defaultBatchWindowMs;
+
+    // 묶음 모드 기본 최대 이벤트 수
+    @Value("${app.stream.batch-max-events:500}")
+    private int defaultBatchMaxEvents;
+
+    // 재연결 시 다시 보낼 수 있도록 보관하는 최근 이벤트 수
+    @Value("${app.stream.replay-buffer-size:10000}")
+    private int replayBufferSize;
+
+    private static final String ROUTE_ALL = "*";
+    private static final String ROUTE_CAMPAIGN = "campaign:";
+    private static final String ROUTE_COMPANY = "company:";
+
+    private static final long MIN_BATCH_WINDOW_MS = 10;
+    private static final long MAX_BATCH_WINDOW_MS = 10000;
+    private static final int MAX_BATCH_EVENTS = 5000;
+
+    // 스프링 설정(spring.jackson.*)을 따르는 공용 ObjectMapper (날짜는 ISO 문자열)
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 전체 구독자 (통계, 종료 처리용)
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // 필터 키별 구독자 (replayLock으로 보호)
+    private final Map<String, Set<Subscriber>> routes = new HashMap<>();
+
+    private BlockingQueue<Object> publishQueue;
+    private ExecutorService writerExecutor;
+    private ScheduledExecutorService batchScheduler;
+    private Thread dispatcher;
+    private volatile boolean running = true;
+
+    // 최근 이벤트 링 버퍼 (replayLock으로 보호, 이벤트 ID는 1부터 증가)
+    private final Object replayLock = new Object();
+    private StreamEvent[] replayBuffer;
+    private long lastEventId;
+
+    // 통계
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong publishDroppedCount = new AtomicLong();
+    private final AtomicLong subscriberDroppedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong disconnectedCount = new AtomicLong();
+    private final AtomicLong replayedCount = new AtomicLong();
+    private final AtomicLong gapCount = new AtomicLong();
 
-    public SseEmitter subscribe() {
-        SseEmitter emitter = new SseEmitter(0L);
-        emitters.add(emitter);
-        emitter.onCompletion(() -> emitters.remove(emitter));
-        emitter.onTimeout(() -> emitters.remove(emitter));
-        emitter.onError(e -> emitters.remove(emitter));
+    @PostConstruct
+    void init() {
+        publishQueue = new ArrayBlockingQueue<>(publishQueueCapacity);
+        replayBuffer = new StreamEvent[replayBufferSize];
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        writerExecutor = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "delivery-stream-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        batchScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "delivery-stream-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        dispatcher = new Thread(this::dispatchLoop, "delivery-stream-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        writerExecutor.shutdown();
+        batchScheduler.shutdown();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * 구독 필터 (null인 조건은 전체 허용)
+     * 캠페인 조건이 있으면 캠페인 키로, 없으면 회사 키로, 둘 다 없으면 전체 키로 색인된다.
+     */
+    public record StreamFilter(UUID campaignId, UUID companyId, Set<String> statuses) {
+
+        public static final StreamFilter ALL = new StreamFilter(null, null, null);
+
+        String routeKey() {
+            if (campaignId != null) {
+                return ROUTE_CAMPAIGN + campaignId;
+            }
+            if (companyId != null) {
+                return ROUTE_COMPANY + companyId;
+            }
+            return ROUTE_ALL;
+        }
+
+        boolean matches(StreamEvent event) {
+            if (campaignId != null && !campaignId.toString().equals(event.campaignId())) {
+                return false;
+            }
+            if (companyId != null && !companyId.toString().equals(event.companyId())) {
+                return false;
+            }
+            return statuses == null || statuses.isEmpty() || statuses.contains(event.status());
+        }
+    }
+
+    /**
+     * 구독 (lastEventId가 있으면 그 이후 이벤트부터 다시 전송)
+     */
+    public SseEmitter subscribe(StreamFilter filter, Long lastEventId) {
+        return subscribe(new SseEmitter(0L), filter, null, lastEventId);
+    }
+
+    /**
+     * 묶음 모드 구독
+     * windowMs 동안 또는 maxEvents개가 모일 때까지 이벤트를 모아 하나의 프레임으로 전송한다.
+     */
+    public SseEmitter subscribeBatched(StreamFilter filter, Long windowMs, Integer maxEvents, Long lastEventId) {
+        long window = windowMs != null ? windowMs : defaultBatchWindowMs;
+        int max = maxEvents != null ? maxEvents : defaultBatchMaxEvents;
+        BatchSettings batch = new BatchSettings(
+                Math.max(MIN_BATCH_WINDOW_MS, Math.min(MAX_BATCH_WINDOW_MS, window)),
+                Math.max(1, Math.min(MAX_BATCH_EVENTS, max)));
+        return subscribe(new SseEmitter(0L), filter, batch, lastEventId);
+    }
+
+    // 구독 등록 (테스트에서 emitter를 직접 넘길 수 있도록 패키지 범위)
+    SseEmitter subscribe(SseEmitter emitter, StreamFilter filter, BatchSettings batch, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, filter != null ? filter : StreamFilter.ALL, batch);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
         try {
             emitter.send(SseEmitter.event()
                     .name("connected")
@@ -26,21 +214,382 @@ public class DeliveryStreamService {
                     .reconnectTime(3000)
                     .comment("connected"));
         } catch (IOException ignored) {}
+
+        // 놓친 이벤트 재전송과 구독 등록 사이에 발행된 이벤트가 빠지거나 중복되지 않도록 잠금 안에서 처리
+        synchronized (replayLock) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+            routes.computeIfAbsent(subscriber.filter.routeKey(), key -> new HashSet<>()).add(subscriber);
+        }
         return emitter;
     }
 
+    private void unregister(Subscriber subscriber) {
+        subscriber.closed = true;
+        synchronized (replayLock) {
+            if (!subscribers.remove(subscriber)) {
+                return;
+            }
+            String routeKey = subscriber.filter.routeKey();
+            Set<Subscriber> routed = routes.get(routeKey);
+            if (routed != null) {
+                routed.remove(subscriber);
+                if (routed.isEmpty()) {
+                    routes.remove(routeKey);
+                }
+            }
+        }
+    }
+
+    // 링 버퍼에서 lastEventId 이후 이벤트를 구독자 대기열에 넣는다 (replayLock 안에서 호출)
+    private void replay(Subscriber subscriber, long clientLastEventId) {
+        if (clientLastEventId >= lastEventId) {
+            if (clientLastEventId > lastEventId) {
+                // 서버 재시작 등으로 ID가 초기화된 경우
+                sendGap(subscriber, clientLastEventId, lastEventId + 1);
+            }
+            return;
+        }
+
+        long oldestAvailableId = Math.max(1, lastEventId - replayBuffer.length + 1);
+        // 구독자 대기열에 들어갈 수 있는 만큼만 다시 보낸다
+        oldestAvailableId = Math.max(oldestAvailableId, lastEventId - subscriberQueueCapacity + 2);
+        long fromId = clientLastEventId + 1;
+        if (fromId < oldestAvailableId) {
+            sendGap(subscriber, clientLastEventId, oldestAvailableId);
+            fromId = oldestAvailableId;
+        }
+        for (long id = fromId; id <= lastEventId; id++) {
+            StreamEvent event = replayBuffer[(int) (id % replayBuffer.length)];
+            if (subscriber.filter.matches(event)) {
+                subscriber.enqueue(event);
+                replayedCount.incrementAndGet();
+            }
+        }
+    }
+
+    // 놓친 이벤트 중 일부를 다시 보낼 수 없음을 알림 (클라이언트는 목록을 다시 조회)
+    private void sendGap(Subscriber subscriber, long clientLastEventId, long firstAvailableId) {
+        gapCount.incrementAndGet();
+        subscriber.enqueueDirect(new StreamEvent(0, "gap",
+                "{\"type\":\"GAP\",\"lastEventId\":" + clientLastEventId + ",\"firstAvailableId\":" + firstAvailableId + "}",
+                null, null, null, null));
+    }
+
+    /**
+     * 이벤트 발행 (구독자 수와 관계없이 대기열에 넣기만 하고 바로 반환)
+     * 공용 대기열이 가득 차면 이벤트를 버린다.
+     */
     public void publish(Object payload) {
-        for (SseEmitter emitter : emitters) {
+        if (publishQueue.offer(payload)) {
+            publishedCount.incrementAndGet();
+        } else {
+            publishDroppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 스트림 통계
+     */
+    public Map<String, Object> getStats() {
+        long queuedForSubscribers = 0;
+        long maxSubscriberDropped = 0;
+        for (Subscriber subscriber : subscribers) {
+            queuedForSubscribers += subscriber.queueSize();
+            maxSubscriberDropped = Math.max(maxSubscriberDropped, subscriber.droppedCount.get());
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("overflowPolicy", overflowPolicy.name());
+        stats.put("publishedCount", publishedCount.get());
+        stats.put("publishQueueSize", publishQueue.size());
+        stats.put("publishDroppedCount", publishDroppedCount.get());
+        stats.put("subscriberQueuedCount", queuedForSubscribers);
+        stats.put("subscriberDroppedCount", subscriberDroppedCount.get());
+        stats.put("maxSubscriberDroppedCount", maxSubscriberDropped);
+        stats.put("coalescedCount", coalescedCount.get());
+        stats.put("disconnectedCount", disconnectedCount.get());
+        stats.put("replayedCount", replayedCount.get());
+        stats.put("gapCount", gapCount.get());
+        synchronized (replayLock) {
+            stats.put("lastEventId", lastEventId);
+            stats.put("replayBufferSize", replayBuffer.length);
+            stats.put("routeKeys", routes.size());
+        }
+        return stats;
+    }
+
+    // 공용 대기열에서 꺼내 구독자별 대기열로 분배
+    private void dispatchLoop() {
+        while (running) {
+            Object payload;
+            try {
+                payload = publishQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            String data;
             try {
-                emitter.send(SseEmitter.event()
-                        .name("delivery")
-                        .data(payload, MediaType.APPLICATION_JSON));
-            } catch (IOException e) {
-                emitter.complete();
-                emitters.remove(emitter);
+                // 구독자마다 직렬화하지 않도록 한 번만 JSON으로 변환
+                data = objectMapper.writeValueAsString(payload);
+            } catch (JsonProcessingException e) {
+                System.err.println("발송 이벤트 직렬화 실패: " + e.getMessage());
+                continue;
+            }
+
+            // 구독자가 없어도 재연결 시 다시 보낼 수 있도록 링 버퍼에 보관
+            synchronized (replayLock) {
+                StreamEvent event = new StreamEvent(++lastEventId, "delivery", data,
+                        stringValue(payload, "status"), stringValue(payload, "previousStatus"),
+                        stringValue(payload, "campaignId"), stringValue(payload, "companyId"));
+                replayBuffer[(int) (event.id() % replayBuffer.length)] = event;
+
+                // 이 이벤트에 관심 있는 구독자 묶음만 확인 (구독자는 한 키에만 색인됨)
+                dispatchTo(routes.get(ROUTE_ALL), event);
+                if (event.campaignId() != null) {
+                    dispatchTo(routes.get(ROUTE_CAMPAIGN + event.campaignId()), event);
+                }
+                if (event.companyId() != null) {
+                    dispatchTo(routes.get(ROUTE_COMPANY + event.companyId()), event);
+                }
             }
         }
     }
-}
 
+    private void dispatchTo(Set<Subscriber> routed, StreamEvent event) {
+        if (routed == null) {
+            return;
+        }
+        for (Subscriber subscriber : routed) {
+            if (subscriber.filter.matches(event)) {
+                subscriber.enqueue(event);
+            }
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        boolean wasSubscribed = subscribers.contains(subscriber);
+        unregister(subscriber);
+        if (wasSubscribed) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static String stringValue(Object payload, String key) {
+        if (payload instanceof Map<?, ?> map) {
+            Object value = map.get(key);
+            return value != null ? value.toString() : null;
+        }
+        return null;
+    }
+
+    /**
+     * 묶음 프레임 생성
+     * 개별 이벤트 배열과 상태별 건수 변화량(생성 +1, 상태 변경 시 이전 상태 -1)을 함께 보낸다.
+     */
+    private StreamEvent toBatchFrame(List<StreamEvent> events) {
+        Map<String, Long> statusDeltas = new TreeMap<>();
+        StringBuilder data = new StringBuilder(events.size() * 200 + 100);
+        data.append("{\"type\":\"DELIVERY_BATCH\",\"count\":").append(events.size()).append(",\"events\":[");
+        for (int i = 0; i < events.size(); i++) {
+            StreamEvent event = events.get(i);
+            if (i > 0) {
+                data.append(',');
+            }
+            data.append(event.data());
+            if (event.status() != null) {
+                statusDeltas.merge(event.status(), 1L, Long::sum);
+            }
+            if (event.previousStatus() != null) {
+                statusDeltas.merge(event.previousStatus(), -1L, Long::sum);
+            }
+        }
+        statusDeltas.values().removeIf(delta -> delta == 0);
+        data.append("],\"statusDeltas\":");
+        try {
+            data.append(objectMapper.writeValueAsString(statusDeltas));
+        } catch (JsonProcessingException e) {
+            data.append("{}");
+        }
+        data.append('}');
+        // 묶음의 마지막 이벤트 ID를 프레임 ID로 사용
+        return new StreamEvent(events.get(events.size() - 1).id(), "delivery-batch", data.toString(), null, null, null, null);
+    }
+
+    /**
+     * 전송할 SSE 이벤트 (id가 0이면 재전송 대상이 아닌 제어 이벤트, data는 직렬화된 JSON, 상태 값은 묶음 모드 집계용)
+     */
+    private record StreamEvent(long id, String name, String data, String status, String previousStatus,
+                               String campaignId, String companyId) {
+    }
+
+    /**
+     * 묶음 모드 설정
+     */
+    record BatchSettings(long windowMs, int maxEvents) {
+    }
+
+    /**
+     * 구독자 (전용 대기열과 전송 상태)
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayDeque<StreamEvent> queue = new ArrayDeque<>();
+        // 전송 작업이 실행 중이거나 예약된 경우 true
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong droppedCount = new AtomicLong();
+        private volatile boolean closed;
+        private final StreamFilter filter;
 
+        // 묶음 모드 (null이면 이벤트마다 전송)
+        private final BatchSettings batch;
+        private List<StreamEvent> pendingBatch = new ArrayList<>();
+        private boolean flushScheduled;
+
+        Subscriber(SseEmitter emitter, StreamFilter filter, BatchSettings batch) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.batch = batch;
+        }
+
+        void enqueue(StreamEvent event) {
+            if (closed) {
+                return;
+            }
+            synchronized (queue) {
+                if (batch == null) {
+                    addToQueue(event);
+                } else {
+                    pendingBatch.add(event);
+                    if (pendingBatch.size() >= batch.maxEvents()) {
+                        moveBatchToQueue();
+                    } else {
+                        if (!flushScheduled) {
+                            flushScheduled = true;
+                            batchScheduler.schedule(this::flushBatch, batch.windowMs(), TimeUnit.MILLISECONDS);
+                        }
+                        return;
+                    }
+                }
+            }
+            scheduleDrain();
+        }
+
+        // 묶음 모드와 관계없이 바로 대기열에 넣는다 (제어 이벤트용)
+        void enqueueDirect(StreamEvent event) {
+            synchronized (queue) {
+                addToQueue(event);
+            }
+            scheduleDrain();
+        }
+
+        // 전송 간격이 지난 묶음 전송
+        private void flushBatch() {
+            synchronized (queue) {
+                flushScheduled = false;
+                if (closed || pendingBatch.isEmpty()) {
+                    return;
+                }
+                moveBatchToQueue();
+            }
+            scheduleDrain();
+        }
+
+        private void moveBatchToQueue() {
+            List<StreamEvent> events = pendingBatch;
+            pendingBatch = new ArrayList<>();
+            addToQueue(toBatchFrame(events));
+        }
+
+        private void addToQueue(StreamEvent event) {
+            if (queue.size() >= subscriberQueueCapacity) {
+                if (!handleOverflow()) {
+                    return;
+                }
+            }
+            queue.addLast(event);
+        }
+
+        // 대기열이 가득 찬 경우 (새 이벤트를 넣어도 되면 true)
+        private boolean handleOverflow() {
+            switch (overflowPolicy) {
+                case DROP_OLDEST -> {
+                    queue.pollFirst();
+                    droppedCount.incrementAndGet();
+                    subscriberDroppedCount.incrementAndGet();
+                    return true;
+                }
+                case COALESCE -> {
+                    int dropped = queue.size();
+                    queue.clear();
+                    droppedCount.addAndGet(dropped);
+                    subscriberDroppedCount.addAndGet(dropped);
+                    coalescedCount.incrementAndGet();
+                    queue.addLast(new StreamEvent(0, "resync", "{\"type\":\"RESYNC\",\"droppedCount\":" + dropped + "}", null, null, null, null));
+                    return true;
+                }
+                default -> {
+                    droppedCount.addAndGet(queue.size() + 1);
+                    subscriberDroppedCount.addAndGet(queue.size() + 1);
+                    disconnectedCount.incrementAndGet();
+                    queue.clear();
+                    closed = true;
+                    writerExecutor.execute(() -> disconnect(this));
+                    return false;
+                }
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                writerExecutor.execute(this::drain);
+            }
+        }
+
+        // 대기열이 빌 때까지 순서대로 전송
+        private void drain() {
+            while (true) {
+                StreamEvent event;
+                synchronized (queue) {
+                    event = queue.pollFirst();
+                }
+                if (event == null) {
+                    draining.set(false);
+                    // 플래그 해제 직전에 들어온 이벤트가 있으면 다시 전송
+                    synchronized (queue) {
+                        if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                            return;
+                        }
+                    }
+                    continue;
+                }
+                try {
+                    // 이미 직렬화된 JSON이므로 문자열 그대로 기록
+                    SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name());
+                    if (event.id() > 0) {
+                        builder.id(String.valueOf(event.id()));
+                    }
+                    emitter.send(builder.data(event.data(), MediaType.TEXT_PLAIN));
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (queue) {
+                        queue.clear();
+                    }
+                    disconnect(this);
+                    draining.set(false);
+                    return;
+                }
+            }
+        }
+
+        int queueSize() {
+            synchronized (queue) {
+                return queue.size();
+            }
+        }
+    }
+}
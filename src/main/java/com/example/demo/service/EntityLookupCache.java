@@ -0,0 +1,175 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Campaign;
+import com.example.demo.entity.Company;
+import com.example.demo.entity.TargetingLocation;
+import com.example.demo.repository.CampaignRepository;
+import com.example.demo.repository.CompanyRepository;
+import com.example.demo.repository.TargetingLocationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 캠페인/타겟팅 위치/회사 조회 캐시 (Caffeine)
+ * 엔티티 대신 변경 불가능한 스냅샷을 캐시하므로 트랜잭션이나 영속성 컨텍스트와 무관하게 공유할 수 있다.
+ * 수정/삭제 시에는 커밋 이후에 무효화해서 커밋 전 값이 다시 캐시되지 않도록 한다.
+ */
+@Service
+public class EntityLookupCache {
+
+    @Autowired
+    private TargetingLocationRepository targetingLocationRepository;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    // 캐시별 최대 항목 수
+    @Value("${app.cache.max-size:10000}")
+    private long maxSize;
+
+    // 저장 후 만료 시간 (초) - 무효화가 누락된 경로가 있어도 이 시간 안에는 반영된다
+    @Value("${app.cache.expire-after-write-seconds:300}")
+    private long expireAfterWriteSeconds;
+
+    private Cache<UUID, TargetingSnapshot> targetingLocations;
+    private Cache<UUID, CampaignSnapshot> campaigns;
+    private Cache<UUID, CompanySnapshot> companies;
+
+    @PostConstruct
+    void init() {
+        targetingLocations = newCache();
+        campaigns = newCache();
+        companies = newCache();
+    }
+
+    private <V> Cache<UUID, V> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // 조회 (없는 ID는 캐시하지 않는다)
+    public Optional<TargetingSnapshot> getTargetingLocation(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(targetingLocations.get(id,
+                key -> targetingLocationRepository.findById(key).map(TargetingSnapshot::of).orElse(null)));
+    }
+
+    public Optional<CampaignSnapshot> getCampaign(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(campaigns.get(id,
+                key -> campaignRepository.findById(key).map(CampaignSnapshot::of).orElse(null)));
+    }
+
+    public Optional<CompanySnapshot> getCompany(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(companies.get(id,
+                key -> companyRepository.findById(key).map(CompanySnapshot::of).orElse(null)));
+    }
+
+    // 무효화
+    public void invalidateTargetingLocation(UUID id) {
+        afterCommit(() -> targetingLocations.invalidate(id));
+    }
+
+    public void invalidateCampaign(UUID id) {
+        afterCommit(() -> campaigns.invalidate(id));
+    }
+
+    /**
+     * 회사 삭제 시 소속 캠페인/타겟팅 위치도 함께 삭제되므로 전부 비운다.
+     */
+    public void invalidateCompany(UUID id, boolean deleted) {
+        afterCommit(() -> {
+            companies.invalidate(id);
+            if (deleted) {
+                campaigns.invalidateAll();
+                targetingLocations.invalidateAll();
+            }
+        });
+    }
+
+    // 트랜잭션 안이면 커밋 후, 아니면 바로 실행
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 캐시별 적중/미스 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("targetingLocations", statsOf(targetingLocations));
+        stats.put("campaigns", statsOf(campaigns));
+        stats.put("companies", statsOf(companies));
+        return stats;
+    }
+
+    // Caffeine 통계를 응답용 Map으로 변환 (ReachEstimateCache에서도 사용)
+    static Map<String, Object> statsOf(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("size", cache.estimatedSize());
+        map.put("hitCount", stats.hitCount());
+        map.put("missCount", stats.missCount());
+        map.put("hitRate", Math.round(stats.hitRate() * 10000.0) / 100.0);
+        map.put("evictionCount", stats.evictionCount());
+        map.put("averageLoadMillis", Math.round(stats.averageLoadPenalty() / 1000.0) / 1000.0);
+        return map;
+    }
+
+    public record TargetingSnapshot(UUID id, String name, Double centerLat, Double centerLng, Integer radiusM, UUID companyId) {
+        static TargetingSnapshot of(TargetingLocation location) {
+            return new TargetingSnapshot(location.getId(), location.getName(),
+                    location.getCenterLat(), location.getCenterLng(), location.getRadiusM(),
+                    location.getCompany() != null ? location.getCompany().getId() : null);
+        }
+    }
+
+    public record CampaignSnapshot(UUID id, String name, String message, String imageUrl, UUID targetingLocationId, UUID companyId) {
+        static CampaignSnapshot of(Campaign campaign) {
+            return new CampaignSnapshot(campaign.getId(), campaign.getName(), campaign.getMessage(),
+                    campaign.getImageUrl(), campaign.getTargetingLocationId(),
+                    campaign.getCompany() != null ? campaign.getCompany().getId() : null);
+        }
+    }
+
+    public record CompanySnapshot(UUID id, String name, String industry) {
+        static CompanySnapshot of(Company company) {
+            return new CompanySnapshot(company.getId(), company.getName(), company.getIndustry());
+        }
+    }
+}
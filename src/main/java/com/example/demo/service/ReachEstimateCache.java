@@ -0,0 +1,86 @@
+package com.example.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 예상 도달 고객 수 캐시
+ * 지도 드래그/반경 슬라이더마다 들어오는 요청을 좌표·반경을 양자화한 키로 묶어 재사용한다.
+ * - 같은 키를 동시에 요청하면 계산은 한 번만 하고 결과를 나눠 쓴다 (Caffeine 로딩 합치기)
+ * - 고객이 생성/수정/삭제되면 세대 번호를 올려 이전 결과를 더 이상 쓰지 않는다
+ */
+@Service
+public class ReachEstimateCache {
+
+    // 좌표 양자화 단위 (도 단위, 0.0001도 ≒ 11m)
+    @Value("${app.reach-cache.coordinate-step-deg:0.0001}")
+    private double coordinateStepDeg;
+
+    // 반경 양자화 단위 (m)
+    @Value("${app.reach-cache.radius-step-m:10}")
+    private int radiusStepM;
+
+    @Value("${app.reach-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.reach-cache.max-size:10000}")
+    private long maxSize;
+
+    // 고객 변경 세대 (키에 포함되므로 올리면 기존 항목은 더 이상 조회되지 않고 TTL로 정리된다)
+    private final AtomicLong generation = new AtomicLong();
+
+    private Cache<Key, Long> estimates;
+
+    private record Key(long generation, long latStep, long lngStep, int radiusStep) {
+    }
+
+    /**
+     * 양자화된 중심/반경으로 고객 수를 세는 함수
+     */
+    @FunctionalInterface
+    public interface Counter {
+        long count(double lat, double lng, int radiusM);
+    }
+
+    @PostConstruct
+    void init() {
+        estimates = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 예상 도달 고객 수 (캐시에 없으면 양자화된 중심/반경으로 계산해 저장)
+     */
+    public long estimate(double lat, double lng, int radiusM, Counter counter) {
+        long latStep = Math.round(lat / coordinateStepDeg);
+        long lngStep = Math.round(lng / coordinateStepDeg);
+        int radiusStep = Math.max(1, Math.round((float) radiusM / radiusStepM));
+        Key key = new Key(generation.get(), latStep, lngStep, radiusStep);
+        // 같은 키는 결과가 같도록 요청 좌표가 아니라 양자화된 좌표로 계산한다
+        return estimates.get(key, k -> counter.count(
+                k.latStep() * coordinateStepDeg, k.lngStep() * coordinateStepDeg, k.radiusStep() * radiusStepM));
+    }
+
+    /**
+     * 고객 변경 시 호출 - 이후 요청은 새로 계산한다
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = EntityLookupCache.statsOf(estimates);
+        stats.put("generation", generation.get());
+        return stats;
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 발송 속도 제한 (회사별, 채널별 토큰 버킷)
+ * 게이트웨이 초당 한도를 넘지 않도록 발송 청크마다 토큰을 예약하고, 토큰이 모자라면 실패시키지 않고 차례가 올 때까지 기다린다.
+ * 버킷은 다음 토큰이 생기는 시각 하나만 AtomicLong으로 두고 CAS로 예약하므로 발송 경로에서 락을 잡지 않는다.
+ * 한도가 0이면 해당 버킷을 쓰지 않는다.
+ */
+@Service
+public class SendRateGovernor {
+
+    /**
+     * 발송 채널 (이미지가 있으면 MMS)
+     */
+    public enum Channel {
+        SMS, MMS;
+
+        public static Channel of(String imageUrl) {
+            return imageUrl != null && !imageUrl.isBlank() ? MMS : SMS;
+        }
+    }
+
+    // 회사별 초당 발송 한도 (0이면 제한 없음)
+    @Value("${app.send.rate.company-per-second:0}")
+    private long companyPerSecond;
+
+    // 회사별 한도 예외 (회사ID:초당건수, 쉼표 구분)
+    @Value("${app.send.rate.company-overrides:}")
+    private String companyOverrides;
+
+    // 채널별 초당 발송 한도 (0이면 제한 없음)
+    @Value("${app.send.rate.sms-per-second:0}")
+    private long smsPerSecond;
+
+    @Value("${app.send.rate.mms-per-second:0}")
+    private long mmsPerSecond;
+
+    // 한동안 쉬었던 버킷이 한 번에 내줄 수 있는 분량 (밀리초 분량의 토큰)
+    @Value("${app.send.rate.burst-ms:100}")
+    private long burstMs;
+
+    private final Map<Channel, TokenBucket> channelBuckets = new EnumMap<>(Channel.class);
+    private final Map<UUID, Long> companyLimits = new HashMap<>();
+    private final Map<UUID, TokenBucket> companyBuckets = new ConcurrentHashMap<>();
+
+    private final AtomicInteger waitingSenders = new AtomicInteger();
+    private final LongAdder throttledNanos = new LongAdder();
+    private final LongAdder throttledCount = new LongAdder();
+    private final LongAdder acquiredCount = new LongAdder();
+    private final RateWindow releasedRate = new RateWindow();
+
+    @PostConstruct
+    void init() {
+        long burstNanos = burstMs * 1_000_000L;
+        if (smsPerSecond > 0) {
+            channelBuckets.put(Channel.SMS, new TokenBucket(smsPerSecond, burstNanos));
+        }
+        if (mmsPerSecond > 0) {
+            channelBuckets.put(Channel.MMS, new TokenBucket(mmsPerSecond, burstNanos));
+        }
+        if (companyOverrides != null && !companyOverrides.isBlank()) {
+            for (String entry : companyOverrides.split(",")) {
+                String[] parts = entry.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("회사별 발송 한도 형식이 올바르지 않습니다: " + entry);
+                }
+                companyLimits.put(UUID.fromString(parts[0].trim()), Long.parseLong(parts[1].trim()));
+            }
+        }
+        System.out.println("발송 속도 제한: 회사별 " + companyPerSecond + "건/초 (예외 " + companyLimits.size() + "곳), SMS "
+                + smsPerSecond + "건/초, MMS " + mmsPerSecond + "건/초 (0은 제한 없음)");
+    }
+
+    /**
+     * 발송 permits건에 대한 토큰을 회사 버킷에서 받아 차례를 기다린 뒤, 채널 버킷에서 받아 다시 차례를 기다린다.
+     * 채널 토큰은 회사 차례가 온 뒤에 예약하므로 실제로 보내는 시각 기준으로 쓰인다.
+     * (회사 대기 전에 채널 토큰을 미리 쓰면, 대기하던 발송이 풀려날 때 채널 한도를 넘는다)
+     */
+    public void acquire(UUID companyId, Channel channel, int permits) {
+        if (permits <= 0) {
+            return;
+        }
+        TokenBucket companyBucket = companyBucket(companyId);
+        TokenBucket channelBucket = channelBuckets.get(channel);
+        long waitNanos = 0;
+        if (companyBucket != null) {
+            waitNanos += reserveAndWait(companyBucket, permits, null);
+        }
+        if (channelBucket != null) {
+            waitNanos += reserveAndWait(channelBucket, permits, companyBucket);
+        }
+        if (waitNanos > 0) {
+            throttledNanos.add(waitNanos);
+            throttledCount.increment();
+        }
+
+        acquiredCount.add(permits);
+        long releasedAt = System.nanoTime();
+        releasedRate.record(permits, releasedAt);
+        if (companyBucket != null) {
+            companyBucket.released.record(permits, releasedAt);
+        }
+        if (channelBucket != null) {
+            channelBucket.released.record(permits, releasedAt);
+        }
+    }
+
+    /**
+     * 버킷에서 permits건을 예약하고 차례가 될 때까지 대기
+     * 대기 중 중단되면 예약한 토큰을 돌려준다 (앞서 받은 버킷의 토큰도 쓰지 못하게 되므로 함께 반환)
+     * @return 대기한 시간 (나노초)
+     */
+    private long reserveAndWait(TokenBucket bucket, int permits, TokenBucket reservedBefore) {
+        long now = System.nanoTime();
+        long waitNanos = bucket.reserve(permits, now);
+        if (waitNanos <= 0) {
+            return 0;
+        }
+        waitingSenders.incrementAndGet();
+        try {
+            long deadline = now + waitNanos;
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    bucket.refund(permits);
+                    if (reservedBefore != null) {
+                        reservedBefore.refund(permits);
+                    }
+                    throw new RuntimeException("발송 속도 제한 대기 중 중단되었습니다.");
+                }
+            }
+        } finally {
+            waitingSenders.decrementAndGet();
+        }
+        return waitNanos;
+    }
+
+    private TokenBucket companyBucket(UUID companyId) {
+        if (companyId == null) {
+            return null;
+        }
+        TokenBucket bucket = companyBuckets.get(companyId);
+        if (bucket != null) {
+            return bucket;
+        }
+        long limit = companyLimits.getOrDefault(companyId, companyPerSecond);
+        if (limit <= 0) {
+            return null;
+        }
+        return companyBuckets.computeIfAbsent(companyId, id -> new TokenBucket(limit, burstMs * 1_000_000L));
+    }
+
+    /**
+     * 발송 속도 통계 (직전 1초 발송 건수, 예약되어 대기 중인 건수, 대기 시간)
+     */
+    public Map<String, Object> getStats() {
+        long now = System.nanoTime();
+        Map<String, Object> channels = new HashMap<>();
+        channelBuckets.forEach((channel, bucket) -> channels.put(channel.name(), bucket.stats(now)));
+        Map<String, Object> companies = new HashMap<>();
+        companyBuckets.forEach((companyId, bucket) -> companies.put(companyId.toString(), bucket.stats(now)));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("currentRatePerSecond", releasedRate.lastSecond(now));
+        stats.put("acquiredCount", acquiredCount.sum());
+        stats.put("waitingSenders", waitingSenders.get());
+        stats.put("throttledCount", throttledCount.sum());
+        stats.put("throttledMs", throttledNanos.sum() / 1_000_000);
+        stats.put("channels", channels);
+        stats.put("companies", companies);
+        return stats;
+    }
+
+    /**
+     * 토큰 버킷 (GCRA 방식: 다음 토큰이 생기는 시각만 저장)
+     * 예약할 때마다 그 시각을 permits건 분량만큼 뒤로 민다. 쉬는 동안 쌓이는 토큰은 burst 분량까지만 인정한다.
+     */
+    static final class TokenBucket {
+
+        private final long ratePerSecond;
+        private final long burstNanos;
+        private final AtomicLong nextFreeNanos = new AtomicLong(Long.MIN_VALUE / 2);
+        private final RateWindow released = new RateWindow();
+
+        TokenBucket(long ratePerSecond, long burstNanos) {
+            this.ratePerSecond = ratePerSecond;
+            this.burstNanos = burstNanos;
+        }
+
+        /**
+         * permits건 예약
+         * @return 발송해도 되는 시각까지 남은 시간 (나노초, 0이면 바로)
+         */
+        long reserve(int permits, long now) {
+            long cost = cost(permits);
+            while (true) {
+                long nextFree = nextFreeNanos.get();
+                long start = Math.max(nextFree, now - burstNanos);
+                if (nextFreeNanos.compareAndSet(nextFree, start + cost)) {
+                    return Math.max(0, start - now);
+                }
+            }
+        }
+
+        /**
+         * 예약했지만 쓰지 못한 permits건 반환 (이후 예약이 그만큼 앞당겨진다)
+         */
+        void refund(int permits) {
+            nextFreeNanos.addAndGet(-cost(permits));
+        }
+
+        private long cost(int permits) {
+            return permits * 1_000_000_000L / ratePerSecond;
+        }
+
+        // 예약되었지만 아직 차례가 오지 않은 건수
+        long backlog(long now) {
+            long ahead = nextFreeNanos.get() - now;
+            return ahead > 0 ? ahead * ratePerSecond / 1_000_000_000L : 0;
+        }
+
+        Map<String, Object> stats(long now) {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("limitPerSecond", ratePerSecond);
+            stats.put("currentRatePerSecond", released.lastSecond(now));
+            stats.put("backlog", backlog(now));
+            return stats;
+        }
+    }
+
+    /**
+     * 초 단위 발송 건수 (직전 1초 값을 보여주기 위해 두 칸을 번갈아 쓴다, 통계용이라 경계의 작은 오차는 허용)
+     */
+    static final class RateWindow {
+
+        private final AtomicLongArray seconds = new AtomicLongArray(2);
+        private final AtomicLongArray counts = new AtomicLongArray(2);
+
+        void record(long permits, long now) {
+            long second = Math.floorDiv(now, 1_000_000_000L);
+            int slot = (int) (second & 1);
+            long slotSecond = seconds.get(slot);
+            if (slotSecond != second && seconds.compareAndSet(slot, slotSecond, second)) {
+                counts.set(slot, 0);
+            }
+            counts.addAndGet(slot, permits);
+        }
+
+        long lastSecond(long now) {
+            long previous = Math.floorDiv(now, 1_000_000_000L) - 1;
+            int slot = (int) (previous & 1);
+            return seconds.get(slot) == previous ? counts.get(slot) : 0;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.TargetingLocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 타겟팅 위치 숫자 별칭 (numeric_id) 관리
+ * 프론트엔드가 써 온 UUID 문자열 hashCode 값을 그대로 별칭으로 저장하고,
+ * 먼저 만들어진 위치와 hashCode가 겹치면 int 범위 밖 값(hashCode + k * 2^32)을 배정해 충돌을 없앤다.
+ * 별칭 ↔ UUID 양방향 맵을 메모리에 두어 조회는 O(1)이다.
+ */
+@Service
+public class TargetingLocationNumericIds {
+
+    @Autowired
+    private TargetingLocationRepository targetingLocationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, UUID> idsByNumericId = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> numericIdsById = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    /**
+     * 저장된 별칭을 적재하고 별칭이 없는 기존 위치는 생성 순으로 채운다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        for (Object[] row : targetingLocationRepository.findAllNumericIds()) {
+            register((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        List<UUID> missing = targetingLocationRepository.findIdsWithoutNumericId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (UUID id : missing) {
+                targetingLocationRepository.assignNumericId(id, reserve(id));
+            }
+        });
+        loaded = true;
+        System.out.println("타겟팅 위치 숫자 별칭 적재 완료: " + numericIdsById.size() + "건 (신규 배정 " + missing.size() + "건)");
+    }
+
+    /**
+     * 새 타겟팅 위치에 별칭 배정 (저장 후 호출)
+     */
+    public Long assign(UUID id) {
+        Long existing = numericIdsById.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        load();
+        long numericId;
+        synchronized (this) {
+            numericId = reserve(id);
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> targetingLocationRepository.assignNumericId(id, numericId));
+        return numericId;
+    }
+
+    /**
+     * 별칭으로 UUID 조회
+     */
+    public Optional<UUID> resolve(Long numericId) {
+        if (numericId == null) {
+            return Optional.empty();
+        }
+        if (!loaded) {
+            load();
+        }
+        return Optional.ofNullable(idsByNumericId.get(numericId));
+    }
+
+    /**
+     * 타겟팅 위치 삭제 시 별칭 해제
+     */
+    public void remove(UUID id) {
+        Long numericId = numericIdsById.remove(id);
+        if (numericId != null) {
+            idsByNumericId.remove(numericId, id);
+        }
+    }
+
+    // hashCode 값부터 비어 있는 별칭을 찾아 맵에 선점
+    private long reserve(UUID id) {
+        long hash = id.toString().hashCode();
+        long candidate = hash;
+        for (long k = 1; idsByNumericId.containsKey(candidate); k++) {
+            candidate = hash + (k << 32);
+        }
+        register(id, candidate);
+        return candidate;
+    }
+
+    private void register(UUID id, long numericId) {
+        idsByNumericId.put(numericId, id);
+        numericIdsById.put(id, numericId);
+    }
+}
@@ -2,7 +2,7 @@ package com.example.demo.service;
 
 import com.example.demo.entity.TargetingLocation;
 import com.example.demo.entity.Company;
-import com.example.demo.entity.Campaign;
+import com.example.demo.entity.Customer;
 import com.example.demo.repository.TargetingLocationRepository;
 import com.example.demo.repository.CompanyRepository;
 import com.example.demo.repository.CustomerRepository;
@@ -10,6 +10,9 @@ import com.example.demo.repository.CampaignRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,9 +34,32 @@ public class TargetingLocationService {
     @Autowired
     private CampaignRepository campaignRepository;
     
+    @Autowired
+    private CustomerService customerService;
+    
+    @Autowired
+    private CustomerGeoIndex customerGeoIndex;
+    
+    @Autowired
+    private EntityLookupCache entityLookupCache;
+    
+    @Autowired
+    private ReachEstimateCache reachEstimateCache;
+    
+    @Autowired
+    private CustomerDensityGrid customerDensityGrid;
+    
+    @Autowired
+    private TargetingLocationNumericIds targetingLocationNumericIds;
+    
+    @Autowired
+    private BulkMaintenanceService bulkMaintenanceService;
+    
     // 타겟팅 위치 생성
     public TargetingLocation createTargetingLocation(TargetingLocation targetingLocation) {
-        return targetingLocationRepository.save(targetingLocation);
+        TargetingLocation saved = targetingLocationRepository.save(targetingLocation);
+        saved.setNumericId(targetingLocationNumericIds.assign(saved.getId()));
+        return saved;
     }
     
     // 모든 타겟팅 위치 조회
@@ -46,13 +72,10 @@ public class TargetingLocationService {
         return targetingLocationRepository.findById(id);
     }
     
-    // 숫자 ID로 타겟팅 위치 조회 (프론트엔드 호환성)
+    // 숫자 ID로 타겟팅 위치 조회 (프론트엔드 호환성 - 기존 UUID hashCode 값도 그대로 조회된다)
     public Optional<TargetingLocation> getTargetingLocationByNumericId(Long numericId) {
-        // 모든 타겟팅 위치를 조회해서 numericId와 일치하는 것을 찾음
-        List<TargetingLocation> allLocations = targetingLocationRepository.findAll();
-        return allLocations.stream()
-                .filter(location -> location.getId().toString().hashCode() == numericId.intValue())
-                .findFirst();
+        return targetingLocationNumericIds.resolve(numericId)
+                .flatMap(targetingLocationRepository::findById);
     }
     
     // 회사별 타겟팅 위치 조회
@@ -80,32 +103,50 @@ public class TargetingLocationService {
             targetingLocation.setCenterLng(updatedTargetingLocation.getCenterLng());
             targetingLocation.setRadiusM(updatedTargetingLocation.getRadiusM());
             targetingLocation.setMemo(updatedTargetingLocation.getMemo());
-            return targetingLocationRepository.save(targetingLocation);
+            TargetingLocation saved = targetingLocationRepository.save(targetingLocation);
+            entityLookupCache.invalidateTargetingLocation(id);
+            return saved;
         }
         throw new RuntimeException("타겟팅 위치를 찾을 수 없습니다: " + id);
     }
     
-    // 타겟팅 위치 삭제
+    // 타겟팅 위치 삭제 (참조하던 캠페인의 타겟팅은 UPDATE 한 번으로 해제)
     public boolean deleteTargetingLocation(UUID id) {
-        if (targetingLocationRepository.existsById(id)) {
-            // 해당 타겟팅 위치를 참조하는 캠페인들의 타겟팅 위치를 null로 설정
-            List<Campaign> campaigns = campaignRepository.findAll();
-            for (Campaign campaign : campaigns) {
-                if (campaign.getTargetingLocation() != null && campaign.getTargetingLocation().getId().equals(id)) {
-                    campaign.setTargetingLocation(null);
-                    campaignRepository.save(campaign);
-                }
-            }
-            
-            targetingLocationRepository.deleteById(id);
-            return true;
+        List<UUID> detachedCampaignIds = bulkMaintenanceService.deleteTargetingLocation(id);
+        if (detachedCampaignIds == null) {
+            return false;
+        }
+        for (UUID campaignId : detachedCampaignIds) {
+            entityLookupCache.invalidateCampaign(campaignId);
         }
-        return false;
+        entityLookupCache.invalidateTargetingLocation(id);
+        targetingLocationNumericIds.remove(id);
+        return true;
     }
     
-    // 예상 도달 고객 수 계산
+    // 예상 도달 고객 수 계산 (양자화된 좌표/반경 단위로 캐시)
     public Long getEstimatedReach(Double lat, Double lng, Integer radiusM) {
-        return targetingLocationRepository.countCustomersInRadius(lat, lng, radiusM);
+        return reachEstimateCache.estimate(lat, lng, radiusM,
+                (qLat, qLng, qRadiusM) -> countCustomersInRadius(qLat, qLng, qRadiusM));
+    }
+    
+    // 예상 도달 고객 수 계산 (approximate면 밀도 격자로 근사, 격자가 없으면 정확히 계산)
+    public CustomerDensityGrid.Estimate getEstimatedReach(Double lat, Double lng, Integer radiusM, boolean approximate) {
+        if (approximate) {
+            CustomerDensityGrid.Estimate estimate = customerDensityGrid.estimate(lat, lng, radiusM);
+            if (estimate != null) {
+                return estimate;
+            }
+        }
+        return new CustomerDensityGrid.Estimate(getEstimatedReach(lat, lng, radiusM), 0, false);
+    }
+    
+    // 반경 내 고객 수 (인덱스 적재 전에는 DB에서 직접 계산)
+    private Long countCustomersInRadius(Double lat, Double lng, Integer radiusM) {
+        if (customerGeoIndex.isReady()) {
+            return customerGeoIndex.countInRadius(lat, lng, radiusM);
+        }
+        return customerRepository.countCustomersInRadius(lat, lng, radiusM);
     }
     
     // 반경 내 타겟팅 위치 조회
@@ -115,32 +156,63 @@ public class TargetingLocationService {
     
     // 회사 존재 여부 확인
     public boolean companyExists(UUID companyId) {
-        return companyRepository.existsById(companyId);
+        return entityLookupCache.getCompany(companyId).isPresent();
     }
 
     // 타겟팅 위치별 고객 목록 조회
     public List<Map<String, Object>> getCustomersByTargeting(UUID targetingId) {
-        Optional<TargetingLocation> targetingLocation = targetingLocationRepository.findById(targetingId);
+        Optional<EntityLookupCache.TargetingSnapshot> targetingLocation = entityLookupCache.getTargetingLocation(targetingId);
         if (targetingLocation.isPresent()) {
-            TargetingLocation location = targetingLocation.get();
-            return customerRepository.findCustomersInRadiusWithDistance(
-                location.getCenterLat(),
-                location.getCenterLng(),
-                location.getRadiusM()
+            EntityLookupCache.TargetingSnapshot location = targetingLocation.get();
+            if (!customerGeoIndex.isReady()) {
+                return customerRepository.findCustomersInRadiusWithDistance(
+                    location.centerLat(),
+                    location.centerLng(),
+                    location.radiusM()
+                );
+            }
+            
+            List<CustomerGeoIndex.Neighbor> neighbors = customerGeoIndex.findInRadius(
+                location.centerLat(),
+                location.centerLng(),
+                location.radiusM()
             );
+            Map<UUID, Customer> customersById = new HashMap<>();
+            for (Customer customer : customerService.getCustomersByIds(
+                    neighbors.stream().map(CustomerGeoIndex.Neighbor::id).toList())) {
+                customersById.put(customer.getId(), customer);
+            }
+            
+            List<Map<String, Object>> customers = new ArrayList<>(customersById.size());
+            for (CustomerGeoIndex.Neighbor neighbor : neighbors) {
+                Customer customer = customersById.get(neighbor.id());
+                if (customer == null) {
+                    continue;
+                }
+                Map<String, Object> row = new HashMap<>();
+                row.put("id", customer.getId());
+                row.put("name", customer.getName());
+                row.put("phone", customer.getPhone());
+                row.put("lat", customer.getLat());
+                row.put("lng", customer.getLng());
+                // SQL 쿼리와 동일하게 km 단위 소수점 둘째 자리
+                row.put("distance", BigDecimal.valueOf(neighbor.distanceM() / 1000).setScale(2, RoundingMode.HALF_UP));
+                customers.add(row);
+            }
+            return customers;
         }
         return List.of();
     }
 
     // 타겟팅 위치별 고객 수 조회 (간단한 버전)
     public Long getCustomerCountByTargeting(UUID targetingId) {
-        Optional<TargetingLocation> targetingLocation = targetingLocationRepository.findById(targetingId);
+        Optional<EntityLookupCache.TargetingSnapshot> targetingLocation = entityLookupCache.getTargetingLocation(targetingId);
         if (targetingLocation.isPresent()) {
-            TargetingLocation location = targetingLocation.get();
-            return customerRepository.countCustomersInRadius(
-                location.getCenterLat(),
-                location.getCenterLng(),
-                location.getRadiusM()
+            EntityLookupCache.TargetingSnapshot location = targetingLocation.get();
+            return countCustomersInRadius(
+                location.centerLat(),
+                location.centerLng(),
+                location.radiusM()
             );
         }
         return 0L;
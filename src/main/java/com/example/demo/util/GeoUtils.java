@@ -0,0 +1,55 @@
+package com.example.demo.util;
+
+/**
+ * 위경도 거리 계산 유틸리티
+ */
+public final class GeoUtils {
+
+    // 지구 반지름 (m) - CustomerRepository의 Haversine 쿼리와 동일한 값
+    public static final double EARTH_RADIUS_M = 6371000;
+
+    // 경계 상자 여유분 (약 1cm) - 경계선 위 좌표가 부동소수점 오차로 빠지지 않도록
+    private static final double BOX_MARGIN_DEG = 1e-7;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 두 좌표 사이의 거리 (m)
+     * CustomerRepository 네이티브 쿼리와 같은 식을 같은 연산 순서로 계산한다.
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double cosine = Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.cos(Math.toRadians(lng2) - Math.toRadians(lng1))
+                + Math.sin(Math.toRadians(lat1)) * Math.sin(Math.toRadians(lat2));
+        // 부동소수점 오차로 1을 살짝 넘는 경우 보정
+        return EARTH_RADIUS_M * Math.acos(Math.min(1.0, Math.max(-1.0, cosine)));
+    }
+
+    /**
+     * 반경을 모두 포함하는 위경도 경계 상자
+     * @return {minLat, maxLat, minLng, maxLng}
+     */
+    public static double[] boundingBox(double lat, double lng, double radiusM) {
+        double angularRadius = radiusM / EARTH_RADIUS_M;
+        double deltaLat = Math.toDegrees(angularRadius) + BOX_MARGIN_DEG;
+
+        double minLat = lat - deltaLat;
+        double maxLat = lat + deltaLat;
+
+        // 극점을 포함하거나 반경이 너무 큰 경우 경도 전체 범위
+        double sinRatio = Math.sin(angularRadius) / Math.cos(Math.toRadians(lat));
+        if (minLat <= -90 || maxLat >= 90 || angularRadius >= Math.PI / 2 || sinRatio >= 1.0) {
+            return new double[] {Math.max(minLat, -90), Math.min(maxLat, 90), -180, 180};
+        }
+
+        double deltaLng = Math.toDegrees(Math.asin(sinRatio)) + BOX_MARGIN_DEG;
+        double minLng = lng - deltaLng;
+        double maxLng = lng + deltaLng;
+        // 날짜변경선을 넘는 경우 경도 전체 범위
+        if (minLng < -180 || maxLng > 180) {
+            return new double[] {minLat, maxLat, -180, 180};
+        }
+        return new double[] {minLat, maxLat, minLng, maxLng};
+    }
+}
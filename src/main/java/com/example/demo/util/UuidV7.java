@@ -0,0 +1,53 @@
+package com.example.demo.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순 UUID (RFC 9562 버전 7) 생성기
+ * 앞 48비트가 밀리초 타임스탬프라 새 키가 인덱스 끝쪽에 모여 삽입 시 B-tree 페이지 분할이 줄어든다.
+ * 같은 밀리초 안에서는 12비트 카운터로 단조 증가를 보장하고 나머지 62비트는 난수로 채운다.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (밀리초 << 12) | 카운터 - 마지막으로 발급한 값
+    private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long stamp = nextStamp();
+        long millis = stamp >>> 12;
+        long counter = stamp & 0xfffL;
+
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (RANDOM.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * UUID에 담긴 생성 시각 (밀리초, 버전 7이 아니면 -1)
+     */
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            return -1;
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    // 카운터가 넘치면 다음 밀리초 값을 미리 빌려 쓴다 (시계가 뒤로 가도 단조 증가 유지)
+    private static long nextStamp() {
+        long now = System.currentTimeMillis() << 12;
+        while (true) {
+            long last = LAST_STAMP.get();
+            long next = Math.max(now, last + 1);
+            if (LAST_STAMP.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
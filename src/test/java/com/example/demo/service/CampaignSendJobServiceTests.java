@@ -0,0 +1,108 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Campaign;
+import com.example.demo.entity.CampaignStatus;
+import com.example.demo.entity.Customer;
+import com.example.demo.entity.Delivery;
+import com.example.demo.entity.TargetingLocation;
+import com.example.demo.repository.CampaignRepository;
+import com.example.demo.repository.DeliveryBatchRepository;
+import com.example.demo.repository.DeliveryRepository;
+import com.example.demo.repository.TargetingLocationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 발송 중(SENDING) 상태로 남은 캠페인이 시작 시 또는 다시 발송 요청 시 복구되는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("h2")
+class CampaignSendJobServiceTests {
+
+	private static final int CUSTOMERS = 20;
+
+	@Autowired
+	private CampaignSendJobService campaignSendJobService;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private TargetingLocationRepository targetingLocationRepository;
+
+	@Autowired
+	private CampaignRepository campaignRepository;
+
+	@Autowired
+	private DeliveryRepository deliveryRepository;
+
+	@Autowired
+	private DeliveryBatchRepository deliveryBatchRepository;
+
+	@Test
+	void sendingCampaignWithoutCheckpointsIsSentAgainOnStartup() throws InterruptedException {
+		TargetingLocation location = targetingLocationRepository.save(new TargetingLocation(null, "중단 복구", 33.45, 126.55, 500));
+		List<Customer> customers = new ArrayList<>();
+		for (int i = 0; i < CUSTOMERS; i++) {
+			customers.add(customerService.createCustomer(
+					new Customer("복구" + i, String.format("010-5555-%04d", i), 33.45 + i * 0.0001, 126.55, null)));
+		}
+
+		// 발송 중 전환은 커밋됐지만 진행 지점을 만들기 전(이전 발송 삭제 중)에 서버가 중단된 상태
+		Campaign campaign = new Campaign("중단 복구", "메시지", location);
+		campaign.setStatus(CampaignStatus.SENDING);
+		UUID campaignId = campaignRepository.save(campaign).getId();
+		deliveryBatchRepository.insertAll(List.of(new Delivery(campaign, customers.get(0))));
+
+		campaignSendJobService.resumeInterruptedSends();
+
+		long deadline = System.currentTimeMillis() + 10000;
+		while (System.currentTimeMillis() < deadline
+				&& campaignRepository.findById(campaignId).orElseThrow().getStatus() != CampaignStatus.COMPLETED) {
+			Thread.sleep(50);
+		}
+		assertEquals(CampaignStatus.COMPLETED, campaignRepository.findById(campaignId).orElseThrow().getStatus());
+		// 이전 발송 내역은 지우고 처음부터 다시 보낸다
+		assertEquals(CUSTOMERS, deliveryRepository.countByCampaignId(campaignId));
+	}
+
+	@Test
+	void stalledSendingCampaignCanBeSentAgain() throws InterruptedException {
+		TargetingLocation location = targetingLocationRepository.save(new TargetingLocation(null, "멈춘 발송", 33.25, 126.55, 500));
+		for (int i = 0; i < CUSTOMERS; i++) {
+			customerService.createCustomer(
+					new Customer("멈춤" + i, String.format("010-5556-%04d", i), 33.25 + i * 0.0001, 126.55, null));
+		}
+
+		// 실행 중인 작업 없이 발송 중으로 남은 캠페인은 다시 발송 요청하면 작업이 등록된다
+		Campaign campaign = new Campaign("멈춘 발송", "메시지", location);
+		campaign.setStatus(CampaignStatus.SENDING);
+		UUID campaignId = campaignRepository.save(campaign).getId();
+		assertFalse(campaignSendJobService.hasActiveJob(campaignId));
+
+		CampaignSendJob job = campaignSendJobService.submit(campaign);
+		long deadline = System.currentTimeMillis() + 10000;
+		while (System.currentTimeMillis() < deadline && !job.isFinished()) {
+			Thread.sleep(50);
+		}
+		assertEquals(CampaignStatus.COMPLETED, campaignRepository.findById(campaignId).orElseThrow().getStatus());
+		assertEquals(CUSTOMERS, deliveryRepository.countByCampaignId(campaignId));
+
+		// 발송 중일 때 읽은 캠페인으로 다시 요청해도, 이미 끝난 발송은 다시 보내지 않는다
+		assertThrows(IllegalStateException.class, () -> campaignSendJobService.submit(campaign));
+	}
+}
@@ -0,0 +1,94 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.CustomerRepository;
+import com.example.demo.util.GeoUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 밀도 격자 근사값이 오차 범위 안에 드는지 정확한 Haversine 계산과 비교
+ */
+class CustomerDensityGridTests {
+
+	private final Random random = new Random(7);
+
+	private final List<double[]> points = new ArrayList<>();
+
+	@Test
+	void estimatesStayWithinErrorBound() {
+		for (int i = 0; i < 100_000; i++) {
+			points.add(randomPoint());
+		}
+		CustomerRepository customerRepository = mock(CustomerRepository.class);
+		when(customerRepository.streamAllLocations()).thenAnswer(invocation -> points.stream()
+				.map(point -> new Object[] {UUID.randomUUID(), point[0], point[1]}));
+
+		CustomerDensityGrid grid = new CustomerDensityGrid();
+		ReflectionTestUtils.setField(grid, "customerRepository", customerRepository);
+		ReflectionTestUtils.setField(grid, "transactionManager", mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(grid, "cellSizeM", 100.0);
+		ReflectionTestUtils.setField(grid, "marginM", 2000.0);
+		ReflectionTestUtils.setField(grid, "maxCells", 4_000_000L);
+		grid.rebuild();
+
+		assertWithinBound(grid, 50);
+
+		// 생성/이동/삭제를 격자에 반영한 뒤에도 같은 기준을 만족해야 한다
+		for (int i = 0; i < 1000; i++) {
+			double[] point = randomPoint();
+			points.add(point);
+			grid.add(point[0], point[1]);
+		}
+		for (int i = 0; i < 500; i++) {
+			double[] point = points.get(i);
+			double[] moved = randomPoint();
+			grid.move(point[0], point[1], moved[0], moved[1]);
+			points.set(i, moved);
+		}
+		for (int i = 0; i < 500; i++) {
+			double[] point = points.remove(points.size() - 1);
+			grid.remove(point[0], point[1]);
+		}
+		assertWithinBound(grid, 50);
+	}
+
+	private void assertWithinBound(CustomerDensityGrid grid, int queries) {
+		double relativeErrorSum = 0;
+		long nanos = 0;
+		for (int q = 0; q < queries; q++) {
+			double[] center = randomPoint();
+			int radiusM = 1000 + random.nextInt(7000);
+
+			long start = System.nanoTime();
+			CustomerDensityGrid.Estimate estimate = grid.estimate(center[0], center[1], radiusM);
+			nanos += System.nanoTime() - start;
+			assertNotNull(estimate);
+
+			long exact = points.stream()
+					.filter(point -> GeoUtils.distanceMeters(center[0], center[1], point[0], point[1]) <= radiusM)
+					.count();
+			assertTrue(Math.abs(estimate.count() - exact) <= estimate.errorBound(),
+					"오차 범위 초과: exact=" + exact + ", estimate=" + estimate);
+			relativeErrorSum += exact > 0 ? Math.abs(estimate.count() - exact) / (double) exact : 0;
+		}
+		double meanRelativeError = relativeErrorSum / queries;
+		System.out.printf("밀도 격자 근사: 평균 상대 오차 %.3f%%, 평균 %d µs%n",
+				meanRelativeError * 100, nanos / queries / 1000);
+		assertTrue(meanRelativeError < 0.02, "평균 상대 오차가 2%를 넘습니다: " + meanRelativeError);
+	}
+
+	private double[] randomPoint() {
+		return new double[] {37.45 + random.nextDouble() * 0.15, 126.95 + random.nextDouble() * 0.15};
+	}
+}
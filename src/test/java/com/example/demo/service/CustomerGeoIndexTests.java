@@ -0,0 +1,105 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Customer;
+import com.example.demo.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 고객 위치 인덱스와 SQL Haversine 쿼리 결과 비교
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("h2")
+@DirtiesContext
+class CustomerGeoIndexTests {
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private CustomerGeoIndex customerGeoIndex;
+
+	@Test
+	void radiusQueriesMatchSqlHaversine() {
+		Random random = new Random(42);
+		List<Customer> customers = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			double lat = 37.45 + random.nextDouble() * 0.15;
+			double lng = 126.95 + random.nextDouble() * 0.15;
+			customers.add(customerService.createCustomer(
+					new Customer("고객" + i, String.format("010-9%03d-%04d", i / 10000, i % 10000), lat, lng, null)));
+		}
+		assertTrue(customerGeoIndex.isReady());
+
+		assertSameAsSql(random, 30);
+
+		// 수정/삭제 후에도 DB와 일치해야 한다
+		for (int i = 0; i < 100; i++) {
+			Customer customer = customers.get(i);
+			Customer details = new Customer(customer.getName(), customer.getPhone(),
+					37.45 + random.nextDouble() * 0.15, 126.95 + random.nextDouble() * 0.15, null);
+			customerService.updateCustomer(customer.getId(), details);
+		}
+		for (int i = 100; i < 200; i++) {
+			customerService.deleteCustomer(customers.get(i).getId());
+		}
+		assertEquals(customerRepository.count(), customerGeoIndex.size());
+
+		assertSameAsSql(random, 30);
+
+		// 재구축 후 들어온 변경도 반영되어야 한다
+		customerGeoIndex.rebuild();
+		for (int i = 200; i < 300; i++) {
+			customerService.deleteCustomer(customers.get(i).getId());
+		}
+		for (int i = 300; i < 400; i++) {
+			Customer customer = customers.get(i);
+			Customer details = new Customer(customer.getName(), customer.getPhone(),
+					37.45 + random.nextDouble() * 0.15, 126.95 + random.nextDouble() * 0.15, null);
+			customerService.updateCustomer(customer.getId(), details);
+		}
+		assertEquals(customerRepository.count(), customerGeoIndex.size());
+
+		assertSameAsSql(random, 30);
+	}
+
+	private void assertSameAsSql(Random random, int queries) {
+		for (int q = 0; q < queries; q++) {
+			double lat = 37.45 + random.nextDouble() * 0.15;
+			double lng = 126.95 + random.nextDouble() * 0.15;
+			int radiusM = 100 + random.nextInt(8000);
+
+			long sqlCount = customerRepository.countCustomersInRadius(lat, lng, radiusM);
+			assertEquals(sqlCount, customerGeoIndex.countInRadius(lat, lng, radiusM),
+					"반경 내 고객 수 불일치: " + lat + ", " + lng + ", " + radiusM);
+
+			Set<UUID> sqlIds = customerRepository.findCustomersNearLocation(lat, lng, radiusM).stream()
+					.map(Customer::getId)
+					.collect(Collectors.toSet());
+			Set<UUID> indexIds = new HashSet<>();
+			customerGeoIndex.findInRadius(lat, lng, radiusM).forEach(neighbor -> indexIds.add(neighbor.id()));
+			assertEquals(sqlIds, indexIds, "반경 내 고객 불일치: " + lat + ", " + lng + ", " + radiusM);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Campaign;
+import com.example.demo.repository.CampaignRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 발송 100만 건 내보내기 (pom.xml의 별도 surefire 실행에서 -Xmx128m으로 실행)
+ * 데이터가 힙에 올라가지 않도록 파일 기반 H2를 사용한다 (실행마다 새 임시 디렉터리, 이전 실행이 중단되며 남긴 파일을 열지 않는다).
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("h2")
+@DirtiesContext
+class DeliveryExportServiceTests {
+
+	private static final int ROWS = 1_000_000;
+	private static final int INSERT_BATCH = 100_000;
+
+	@TempDir
+	static Path databaseDir;
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url",
+				() -> "jdbc:h2:file:" + databaseDir.resolve("export-test-db") + ";DB_CLOSE_ON_EXIT=FALSE");
+	}
+
+	@Autowired
+	private DeliveryExportService deliveryExportService;
+
+	@Autowired
+	private CampaignRepository campaignRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void exportsMillionRowsWithConstantMemory() {
+		Campaign campaign = campaignRepository.save(new Campaign("내보내기", "메시지", null));
+		// 10만 건씩 나눠 커밋, id는 순차값으로 만들어 인덱스 삽입을 빠르게 한다 (캠페인당 고객 한 명에 한 건이므로 고객도 같은 수만큼 만든다)
+		for (int from = 1; from <= ROWS; from += INSERT_BATCH) {
+			jdbcTemplate.update("INSERT INTO customers (id, name, phone, lat, lng, created_at) " +
+					"SELECT CAST(CONCAT('00000000-0000-0000-0000-', LPAD(X, 12, '0')) AS UUID), CONCAT('고객', X), " +
+					"CONCAT('010-', LPAD(X, 8, '0')), 37.5, 127.0, TIMESTAMP '2026-01-01 00:00:00' FROM SYSTEM_RANGE(?, ?)",
+					from, from + INSERT_BATCH - 1);
+			jdbcTemplate.update("INSERT INTO deliveries (id, campaign_id, customer_id, message_text_sent, status, created_at) " +
+					"SELECT CAST(CONCAT('00000000-0000-0000-0000-', LPAD(X, 12, '0')) AS UUID), ?, CAST(CONCAT('00000000-0000-0000-0000-', LPAD(X, 12, '0')) AS UUID), " +
+					"'메시지', CASE MOD(X, 3) WHEN 0 THEN 'SENT' WHEN 1 THEN 'FAILED' ELSE 'PENDING' END, " +
+					"DATEADD('MILLISECOND', X, TIMESTAMP '2026-01-01 00:00:00') FROM SYSTEM_RANGE(?, ?)",
+					campaign.getId(), from, from + INSERT_BATCH - 1);
+		}
+
+		LineCountingStream ndjson = new LineCountingStream();
+		long written = deliveryExportService.exportCampaign(campaign.getId(), DeliveryExportService.Format.NDJSON, ndjson);
+		assertEquals(ROWS, written);
+		assertEquals(ROWS, ndjson.lines);
+
+		LineCountingStream csv = new LineCountingStream();
+		written = deliveryExportService.exportCampaign(campaign.getId(), DeliveryExportService.Format.CSV, csv);
+		assertEquals(ROWS, written);
+		assertEquals(ROWS + 1, csv.lines); // 헤더 포함
+
+		// 출력이 최대 힙보다 크므로 결과를 메모리에 모았다면 OutOfMemoryError가 났을 것이다
+		assertTrue(ndjson.bytes > Runtime.getRuntime().maxMemory(), "출력 크기가 최대 힙보다 커야 의미 있는 검증입니다");
+	}
+
+	/**
+	 * 출력 내용을 버리면서 줄 수/바이트 수만 기록
+	 */
+	private static class LineCountingStream extends OutputStream {
+		private long lines;
+		private long bytes;
+
+		@Override
+		public void write(int b) {
+			count(b);
+		}
+
+		@Override
+		public void write(byte[] buffer, int offset, int length) {
+			for (int i = offset; i < offset + length; i++) {
+				count(buffer[i]);
+			}
+		}
+
+		private void count(int b) {
+			bytes++;
+			if (b == '\n') {
+				lines++;
+			}
+		}
+	}
+}
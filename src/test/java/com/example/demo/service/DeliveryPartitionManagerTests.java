@@ -0,0 +1,107 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Campaign;
+import com.example.demo.entity.Customer;
+import com.example.demo.repository.CampaignRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * deliveries 파티션 전환/재시작/인덱스 보충을 실제 PostgreSQL에서 확인 (postgres-tests 프로필에서만 실행, mvn test -Ppostgres-tests)
+ * application.properties의 PostgreSQL을 그대로 쓰고 deliveries 테이블을 다시 만들므로 테스트용 DB에서만 실행한다.
+ * 이미 전환된 DB에서 다시 실행하면 컨텍스트 시작 자체가 재시작 경로(ddl-auto=update + 파티션 테이블)를 확인한다.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class DeliveryPartitionManagerTests {
+
+	private static final List<String> INDEXES = List.of(
+			"idx_deliveries_campaign_created_at_id",
+			"idx_deliveries_campaign_customer",
+			"idx_deliveries_created_at_id",
+			"idx_deliveries_created_at_status",
+			"idx_deliveries_status_created_at_id");
+
+	@Autowired
+	private DeliveryPartitionManager deliveryPartitionManager;
+
+	@Autowired
+	private CampaignRepository campaignRepository;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void convertsPlainTableAndKeepsIndexesOnRestart() {
+		// 시작할 때 이미 파티션 테이블이고 인덱스가 모두 있어야 한다
+		assertEquals("p", relkind());
+		assertEquals(INDEXES, indexes());
+
+		Campaign campaign = campaignRepository.save(new Campaign("파티션 전환", "메시지", null));
+		Customer customer = customerService.createCustomer(new Customer("파티션", String.format("010-%08d",
+				System.nanoTime() % 100_000_000L), 37.5, 127.0, null));
+		LocalDateTime now = LocalDateTime.now();
+		UUID recent = insertDelivery(campaign, customer, now);
+		UUID expired = insertDelivery(campaign, customer, now.minusDays(200));
+
+		// 전환 전 일반 테이블로 되돌린 뒤 다시 전환
+		jdbcTemplate.execute("CREATE TABLE deliveries_plain AS SELECT * FROM deliveries");
+		jdbcTemplate.execute("DROP TABLE deliveries");
+		jdbcTemplate.execute("ALTER TABLE deliveries_plain RENAME TO deliveries");
+		jdbcTemplate.execute("ALTER TABLE deliveries ADD PRIMARY KEY (id)");
+		assertEquals("r", relkind());
+
+		deliveryPartitionManager.initialize();
+
+		assertEquals("p", relkind());
+		assertEquals(INDEXES, indexes());
+		assertEquals("deliveries_p" + now.toLocalDate().format(DateTimeFormatter.ofPattern("yyyyMMdd")), jdbcTemplate.queryForObject(
+				"SELECT tableoid::regclass::text FROM deliveries WHERE id = ?", String.class, recent));
+		// 보관 기간이 지난 발송은 기본 파티션으로 옮겨진 뒤 요약만 남기고 삭제
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deliveries WHERE id = ?", Long.class, expired));
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"SELECT delivery_count FROM delivery_daily_summary WHERE campaign_id = ? AND summary_date = ?",
+				Long.class, campaign.getId(), LocalDate.now().minusDays(200)));
+
+		// 인덱스 추가 전에 전환된 DB도 다음 시작 때 채워져야 한다
+		jdbcTemplate.execute("DROP INDEX idx_deliveries_campaign_customer");
+		deliveryPartitionManager.initialize();
+		assertTrue(indexes().contains("idx_deliveries_campaign_customer"));
+	}
+
+	private UUID insertDelivery(Campaign campaign, Customer customer, LocalDateTime createdAt) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO deliveries (id, campaign_id, customer_id, message_text_sent, status, created_at) " +
+				"VALUES (?, ?, ?, '메시지', 'SENT', ?)", id, campaign.getId(), customer.getId(), Timestamp.valueOf(createdAt));
+		return id;
+	}
+
+	private String relkind() {
+		return jdbcTemplate.queryForObject("SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+				"WHERE c.relname = 'deliveries' AND n.nspname = current_schema()", String.class);
+	}
+
+	private List<String> indexes() {
+		return jdbcTemplate.queryForList("SELECT indexname::text FROM pg_indexes " +
+				"WHERE schemaname = current_schema() AND tablename = 'deliveries' AND indexname LIKE 'idx_deliveries_%' " +
+				"ORDER BY indexname", String.class);
+	}
+}
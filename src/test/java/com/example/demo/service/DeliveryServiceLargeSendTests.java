@@ -0,0 +1,88 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Campaign;
+import com.example.demo.entity.TargetingLocation;
+import com.example.demo.repository.CampaignRepository;
+import com.example.demo.repository.DeliveryRepository;
+import com.example.demo.repository.TargetingLocationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 200만 명 대상 캠페인 발송 (pom.xml의 별도 surefire 실행에서 -Xmx256m으로 실행)
+ * 데이터가 힙에 올라가지 않도록 파일 기반 H2를 사용한다 (실행마다 새 임시 디렉터리, 이전 실행이 중단되며 남긴 파일을 열지 않는다).
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("h2")
+@DirtiesContext
+class DeliveryServiceLargeSendTests {
+
+	private static final int CUSTOMERS = 2_000_000;
+	private static final int INSERT_BATCH = 200_000;
+
+	@TempDir
+	static Path databaseDir;
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url",
+				() -> "jdbc:h2:file:" + databaseDir.resolve("send-test-db") + ";DB_CLOSE_ON_EXIT=FALSE");
+	}
+
+	@Autowired
+	private DeliveryService deliveryService;
+
+	@Autowired
+	private TargetingLocationRepository targetingLocationRepository;
+
+	@Autowired
+	private CampaignRepository campaignRepository;
+
+	@Autowired
+	private DeliveryRepository deliveryRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void sendsToTwoMillionCustomersWithConstantMemory() {
+		// 고객 엔티티 200만 개는 256MB 힙에 들어가지 않으므로 대상을 목록으로 만들었다면 OutOfMemoryError가 났을 것이다
+		assertTrue(Runtime.getRuntime().maxMemory() <= 256L * 1024 * 1024, "-Xmx256m 이하에서 실행해야 의미 있는 검증입니다");
+
+		// 모든 고객을 중심에서 약 1km 안에 배치, id는 순차값으로 만들어 인덱스 삽입을 빠르게 한다
+		for (int from = 1; from <= CUSTOMERS; from += INSERT_BATCH) {
+			jdbcTemplate.update("INSERT INTO customers (id, name, phone, lat, lng, created_at) " +
+					"SELECT CAST(CONCAT('00000000-0000-0000-0000-', LPAD(X, 12, '0')) AS UUID), CONCAT('고객', X), " +
+					"CONCAT('010-', LPAD(X, 8, '0')), 37.5 + MOD(X, 1000) * 0.00001, 127.0 + MOD(X / 1000, 1000) * 0.00001, " +
+					"TIMESTAMP '2026-01-01 00:00:00' FROM SYSTEM_RANGE(?, ?)",
+					from, from + INSERT_BATCH - 1);
+		}
+		TargetingLocation location = targetingLocationRepository.save(new TargetingLocation(null, "대량 발송", 37.505, 127.005, 3000));
+		Campaign campaign = campaignRepository.save(new Campaign("대량 발송", "메시지", location));
+
+		Map<String, Object> result = deliveryService.simulateCampaignDelivery(campaign.getId());
+
+		assertEquals((long) CUSTOMERS, ((Number) result.get("totalDeliveries")).longValue());
+		assertEquals(CUSTOMERS, ((Number) result.get("sentCount")).longValue()
+				+ ((Number) result.get("failedCount")).longValue()
+				+ ((Number) result.get("pendingCount")).longValue());
+		assertEquals(CUSTOMERS, deliveryRepository.countByCampaignId(campaign.getId()));
+	}
+}
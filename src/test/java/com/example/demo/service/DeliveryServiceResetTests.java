@@ -0,0 +1,105 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Campaign;
+import com.example.demo.entity.CampaignStatus;
+import com.example.demo.entity.Customer;
+import com.example.demo.entity.Delivery;
+import com.example.demo.repository.CampaignRepository;
+import com.example.demo.repository.DeliveryBatchRepository;
+import com.example.demo.repository.DeliveryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 발송 내역 초기화가 캠페인 행을 잠근 채 상태를 확인해, 확인 직후 시작된 발송의 내역을 지우지 않는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("h2")
+class DeliveryServiceResetTests {
+
+	private static final int DELIVERIES = 3;
+
+	@Autowired
+	private DeliveryService deliveryService;
+
+	@Autowired
+	private CampaignRepository campaignRepository;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private DeliveryRepository deliveryRepository;
+
+	@Autowired
+	private DeliveryBatchRepository deliveryBatchRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void resetGuardBlocksSendStartUntilCommit() throws Exception {
+		Campaign campaign = new Campaign("초기화", "메시지", null);
+		campaign.setStatus(CampaignStatus.COMPLETED);
+		UUID campaignId = campaignRepository.save(campaign).getId();
+		List<Delivery> deliveries = new ArrayList<>();
+		for (int i = 0; i < DELIVERIES; i++) {
+			Customer customer = customerService.createCustomer(
+					new Customer("초기화" + i, String.format("010-6666-%04d", i), 35.2, 129.1, null));
+			deliveries.add(new Delivery(campaign, customer));
+		}
+		deliveryBatchRepository.insertAll(deliveries);
+
+		// 초기화가 상태를 확인한 뒤 삭제를 커밋하기 전 상태를 흉내 낸다
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread reset = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+			campaignRepository.findStatusByIdForUpdate(campaignId);
+			locked.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		reset.start();
+		assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+		// 그 사이 발송 시작(발송 중 상태 전환)은 잠금이 풀릴 때까지 기다려야 한다
+		Thread send = new Thread(() -> campaignRepository.updateStatusIfCurrentIn(
+				campaignId, CampaignStatus.SENDING, List.of(CampaignStatus.COMPLETED)));
+		send.start();
+		send.join(300);
+		assertTrue(send.isAlive(), "초기화 트랜잭션이 끝날 때까지 발송 시작이 기다려야 합니다");
+
+		release.countDown();
+		reset.join(10_000);
+		send.join(10_000);
+		assertEquals(CampaignStatus.SENDING, campaignRepository.findById(campaignId).orElseThrow().getStatus());
+
+		// 발송 중이 된 뒤의 초기화는 거부되고 내역은 남는다
+		assertThrows(IllegalStateException.class, () -> deliveryService.resetCampaignDeliveries(campaignId));
+		assertEquals(DELIVERIES, deliveryRepository.countByCampaignId(campaignId));
+
+		campaignRepository.updateStatus(campaignId, CampaignStatus.COMPLETED);
+		assertEquals(DELIVERIES, deliveryService.resetCampaignDeliveries(campaignId));
+		assertEquals(0, deliveryRepository.countByCampaignId(campaignId));
+	}
+}
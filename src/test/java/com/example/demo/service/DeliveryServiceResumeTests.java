@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Campaign;
+import com.example.demo.entity.TargetingLocation;
+import com.example.demo.repository.CampaignRepository;
+import com.example.demo.repository.CampaignSendCheckpointRepository;
+import com.example.demo.repository.DeliveryRepository;
+import com.example.demo.repository.TargetingLocationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 중단된 캠페인 발송이 진행 지점부터 이어지고, 이미 저장된 발송은 중복 저장되지 않는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+		"app.delivery.chunk-size=100"
+})
+@ActiveProfiles("h2")
+class DeliveryServiceResumeTests {
+
+	private static final int CUSTOMERS = 2000;
+
+	@Autowired
+	private DeliveryService deliveryService;
+
+	@Autowired
+	private DeliveryStatsStore deliveryStatsStore;
+
+	@Autowired
+	private TargetingLocationRepository targetingLocationRepository;
+
+	@Autowired
+	private CampaignRepository campaignRepository;
+
+	@Autowired
+	private DeliveryRepository deliveryRepository;
+
+	@Autowired
+	private CampaignSendCheckpointRepository campaignSendCheckpointRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void interruptedSendResumesWithoutDuplicates() {
+		// 다른 테스트 데이터와 겹치지 않는 지역에 고객 배치 (중심에서 약 500m 안)
+		jdbcTemplate.update("INSERT INTO customers (id, name, phone, lat, lng, created_at) " +
+				"SELECT RANDOM_UUID(), CONCAT('재개', X), CONCAT('010-9', LPAD(X, 7, '0')), " +
+				"35.1 + MOD(X, 50) * 0.0001, 129.0 + (X / 50) * 0.0001, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)", CUSTOMERS);
+		TargetingLocation location = targetingLocationRepository.save(new TargetingLocation(null, "재개 발송", 35.1025, 129.002, 1000));
+		Campaign campaign = campaignRepository.save(new Campaign("재개 발송", "메시지", location));
+		UUID campaignId = campaign.getId();
+
+		// 세 번째 청크 저장 중 실패시켜 (그 청크는 롤백) 발송을 중간에 끊는다
+		DeliveryStatsStore failingStore = mock(DeliveryStatsStore.class);
+		AtomicInteger chunks = new AtomicInteger();
+		doAnswer(invocation -> {
+			if (chunks.incrementAndGet() == 3) {
+				throw new IllegalStateException("발송 중단");
+			}
+			return null;
+		}).when(failingStore).recordCreated(any(), any(), any());
+		ReflectionTestUtils.setField(deliveryService, "deliveryStatsStore", failingStore);
+		try {
+			assertThrows(IllegalStateException.class, () -> deliveryService.simulateCampaignDelivery(campaignId));
+		} finally {
+			ReflectionTestUtils.setField(deliveryService, "deliveryStatsStore", deliveryStatsStore);
+		}
+		long written = deliveryRepository.countByCampaignId(campaignId);
+		assertTrue(written > 0 && written < CUSTOMERS, "중간까지만 저장되어야 합니다: " + written);
+		assertFalse(campaignSendCheckpointRepository.findByCampaignIdOrderByPartitionIndex(campaignId).isEmpty());
+
+		// 진행 지점이 마지막 커밋보다 뒤처진 경우도 흉내 내기 위해 미완료 파티션의 키를 처음으로 되돌린다
+		jdbcTemplate.update("UPDATE campaign_send_checkpoints SET last_lat = NULL, last_lng = NULL, last_customer_id = NULL " +
+				"WHERE campaign_id = ? AND completed = FALSE", campaignId);
+
+		Map<String, Object> result = deliveryService.simulateCampaignDelivery(campaignId);
+
+		assertEquals((long) CUSTOMERS, ((Number) result.get("totalDeliveries")).longValue());
+		assertEquals(CUSTOMERS, deliveryRepository.countByCampaignId(campaignId));
+		assertEquals(CUSTOMERS, jdbcTemplate.queryForObject(
+				"SELECT COUNT(DISTINCT customer_id) FROM deliveries WHERE campaign_id = ?", Long.class, campaignId));
+		assertTrue(campaignSendCheckpointRepository.findByCampaignIdOrderByPartitionIndex(campaignId).isEmpty());
+	}
+}
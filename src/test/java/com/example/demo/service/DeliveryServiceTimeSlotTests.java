@@ -0,0 +1,85 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Campaign;
+import com.example.demo.entity.Customer;
+import com.example.demo.entity.Delivery;
+import com.example.demo.repository.CampaignRepository;
+import com.example.demo.repository.DeliveryBatchRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 최근 30분 5분 단위 현황에서 각 분의 발송이 라벨과 같은 구간에 들어가는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("h2")
+class DeliveryServiceTimeSlotTests {
+
+	private static final DateTimeFormatter SLOT_LABEL = DateTimeFormatter.ofPattern("HH:mm");
+
+	@Autowired
+	private DeliveryService deliveryService;
+
+	@Autowired
+	private CampaignRepository campaignRepository;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private DeliveryBatchRepository deliveryBatchRepository;
+
+	@Test
+	void minuteRowsLandInTheSlotOfTheirLabel() {
+		Campaign campaign = campaignRepository.save(new Campaign("구간 경계", "메시지", null));
+		Customer customer = customerService.createCustomer(new Customer("구간", "010-7778-0001", 35.1, 129.0, null));
+
+		// 집계 중 분이 바뀌면 구간이 밀리므로 같은 분 안에서 끝날 때까지 다시 시도한다
+		for (int attempt = 0; attempt < 3; attempt++) {
+			LocalDateTime minute = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+			List<Map<String, Object>> before = slots();
+
+			// 최근 30분의 각 분(초 30)에 한 건씩
+			List<Delivery> deliveries = new ArrayList<>();
+			for (int i = 0; i < 30; i++) {
+				Delivery delivery = new Delivery(campaign, customer);
+				delivery.setCreatedAt(minute.minusMinutes(i).plusSeconds(30));
+				deliveries.add(delivery);
+			}
+			deliveryBatchRepository.insertAll(deliveries);
+			List<Map<String, Object>> after = slots();
+
+			if (!minute.equals(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES))) {
+				continue;
+			}
+			assertEquals(6, after.size());
+			for (int slot = 0; slot < after.size(); slot++) {
+				assertEquals(minute.minusMinutes(29 - slot * 5L).format(SLOT_LABEL), after.get(slot).get("time"));
+				assertEquals(5L, (Long) after.get(slot).get("total") - (Long) before.get(slot).get("total"),
+						"구간 " + after.get(slot).get("time"));
+			}
+			return;
+		}
+		throw new AssertionError("분이 바뀌지 않는 사이에 집계를 마치지 못했습니다");
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Map<String, Object>> slots() {
+		return (List<Map<String, Object>>) deliveryService.getRecentDeliveriesByTimeSlot().get("data");
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Campaign;
+import com.example.demo.entity.Customer;
+import com.example.demo.entity.Delivery;
+import com.example.demo.entity.Delivery.DeliveryStatus;
+import com.example.demo.repository.CampaignRepository;
+import com.example.demo.repository.DeliveryBatchRepository;
+import com.example.demo.repository.DeliveryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 커밋은 됐지만 아직 메모리 집계에 반영되지 않은 발송이 재적재와 겹쳐도 두 번 세지 않는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("h2")
+class DeliveryStatsStoreTests {
+
+	@Autowired
+	private DeliveryStatsStore deliveryStatsStore;
+
+	@Autowired
+	private CampaignRepository campaignRepository;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private DeliveryRepository deliveryRepository;
+
+	@Autowired
+	private DeliveryBatchRepository deliveryBatchRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void reconcileDuringCommitDoesNotDoubleCount() throws Exception {
+		Campaign campaign = campaignRepository.save(new Campaign("집계 재적재", "메시지", null));
+		Customer customer = customerService.createCustomer(new Customer("집계", "010-7777-0001", 35.2, 129.1, null));
+		UUID campaignId = campaign.getId();
+		deliveryStatsStore.reconcile();
+
+		// 커밋 직후, 집계 반영 직전에 멈춰 있는 발송 저장
+		CountDownLatch committed = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread writer = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					committed.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+			Delivery delivery = new Delivery(campaign, customer);
+			delivery.setStatus(DeliveryStatus.SENT);
+			deliveryBatchRepository.insertAll(List.of(delivery));
+			deliveryStatsStore.recordCreated(campaignId, null, List.of(delivery));
+		}));
+		writer.start();
+		assertTrue(committed.await(10, TimeUnit.SECONDS));
+
+		// 그 사이에 재적재 시작 (반영이 끝날 때까지 스냅샷을 잡지 않아야 한다)
+		Thread reconciler = new Thread(deliveryStatsStore::reconcile);
+		reconciler.start();
+		reconciler.join(500);
+		assertTrue(reconciler.isAlive(), "커밋 후 반영 전인 변경이 있으면 재적재가 기다려야 합니다");
+
+		release.countDown();
+		writer.join(10_000);
+		reconciler.join(10_000);
+
+		assertEquals(1, deliveryRepository.countByCampaignId(campaignId));
+		assertEquals(1, deliveryStatsStore.getCampaignCount(campaignId));
+		assertEquals(1, deliveryStatsStore.getCampaignCount(campaignId, DeliveryStatus.SENT));
+	}
+}
@@ -0,0 +1,146 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 발송 이벤트 스트림 구독 필터 테스트
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("h2")
+class DeliveryStreamServiceTests {
+
+	@Autowired
+	private DeliveryStreamService deliveryStreamService;
+
+	@Test
+	void campaignSubscribersReceiveOnlyTheirOwnEvents() throws InterruptedException {
+		int campaignCount = 100;
+		int subscribersPerCampaign = 10;
+		int eventsPerCampaign = 5;
+
+		List<UUID> campaignIds = new ArrayList<>();
+		Map<UUID, List<CapturingEmitter>> emittersByCampaign = new HashMap<>();
+		for (int c = 0; c < campaignCount; c++) {
+			UUID campaignId = UUID.randomUUID();
+			campaignIds.add(campaignId);
+			List<CapturingEmitter> emitters = new ArrayList<>();
+			for (int s = 0; s < subscribersPerCampaign; s++) {
+				CapturingEmitter emitter = new CapturingEmitter();
+				deliveryStreamService.subscribe(emitter,
+						new DeliveryStreamService.StreamFilter(campaignId, null, null), null, null);
+				emitters.add(emitter);
+			}
+			emittersByCampaign.put(campaignId, emitters);
+		}
+
+		// 상태 필터 구독자 (첫 번째 캠페인의 FAILED 이벤트만)
+		UUID firstCampaignId = campaignIds.get(0);
+		CapturingEmitter failedOnly = new CapturingEmitter();
+		deliveryStreamService.subscribe(failedOnly,
+				new DeliveryStreamService.StreamFilter(firstCampaignId, null, Set.of("FAILED")), null, null);
+
+		for (int e = 0; e < eventsPerCampaign; e++) {
+			for (UUID campaignId : campaignIds) {
+				Map<String, Object> event = new HashMap<>();
+				event.put("type", "DELIVERY_CREATED");
+				event.put("id", UUID.randomUUID());
+				event.put("campaignId", campaignId);
+				event.put("status", e == 0 ? "FAILED" : "SENT");
+				deliveryStreamService.publish(event);
+			}
+		}
+
+		long deadline = System.currentTimeMillis() + 10000;
+		while (System.currentTimeMillis() < deadline && !allReceived(emittersByCampaign, eventsPerCampaign)) {
+			Thread.sleep(50);
+		}
+		// 다른 캠페인 이벤트가 늦게 도착하지 않는지 잠시 더 확인
+		Thread.sleep(200);
+
+		for (Map.Entry<UUID, List<CapturingEmitter>> entry : emittersByCampaign.entrySet()) {
+			for (CapturingEmitter emitter : entry.getValue()) {
+				List<String> events = emitter.deliveryEvents();
+				assertEquals(eventsPerCampaign, events.size());
+				assertTrue(events.stream().allMatch(data -> data.contains(entry.getKey().toString())));
+			}
+		}
+		assertEquals(1, failedOnly.deliveryEvents().size());
+		assertTrue(failedOnly.deliveryEvents().get(0).contains("\"FAILED\""));
+	}
+
+	@Test
+	void publishedDatesAreIsoStrings() throws InterruptedException {
+		UUID campaignId = UUID.randomUUID();
+		CapturingEmitter emitter = new CapturingEmitter();
+		deliveryStreamService.subscribe(emitter, new DeliveryStreamService.StreamFilter(campaignId, null, null), null, null);
+
+		Map<String, Object> event = new HashMap<>();
+		event.put("type", "DELIVERY_CREATED");
+		event.put("id", UUID.randomUUID());
+		event.put("campaignId", campaignId);
+		event.put("status", "SENT");
+		event.put("createdAt", LocalDateTime.of(2026, 10, 18, 3, 4, 5));
+		deliveryStreamService.publish(event);
+
+		long deadline = System.currentTimeMillis() + 10000;
+		while (System.currentTimeMillis() < deadline && emitter.deliveryEvents().isEmpty()) {
+			Thread.sleep(50);
+		}
+		// 스프링 ObjectMapper 설정대로 배열이 아닌 ISO 문자열이어야 한다
+		assertEquals(1, emitter.deliveryEvents().size());
+		assertTrue(emitter.deliveryEvents().get(0).contains("\"createdAt\":\"2026-10-18T03:04:05\""),
+				emitter.deliveryEvents().get(0));
+	}
+
+	private boolean allReceived(Map<UUID, List<CapturingEmitter>> emittersByCampaign, int expected) {
+		return emittersByCampaign.values().stream()
+				.flatMap(List::stream)
+				.allMatch(emitter -> emitter.deliveryEvents().size() >= expected);
+	}
+
+	/**
+	 * 전송된 SSE 이벤트를 기록하는 emitter
+	 */
+	private static class CapturingEmitter extends SseEmitter {
+
+		private final List<String> frames = new CopyOnWriteArrayList<>();
+
+		CapturingEmitter() {
+			super(0L);
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			StringBuilder frame = new StringBuilder();
+			builder.build().forEach(part -> frame.append(part.getData()));
+			frames.add(frame.toString());
+		}
+
+		List<String> deliveryEvents() {
+			return frames.stream()
+					.filter(frame -> frame.contains("event:delivery\n"))
+					.toList();
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 여러 캠페인이 동시에 발송해도 채널/회사 한도가 지켜지고, 한도를 넘는 발송은 실패 없이 대기하는지 확인
+ */
+class SendRateGovernorTests {
+
+	private static final int CAMPAIGNS = 16;
+	private static final int CHUNK = 100;
+	private static final long WARMUP_NANOS = 1_000_000_000L;
+	private static final long MEASURE_NANOS = 3_000_000_000L;
+
+	@Test
+	void channelCapHoldsUnderConcurrentCampaigns() throws InterruptedException {
+		SendRateGovernor governor = governor(0, 10_000, "");
+
+		// 캠페인마다 다른 회사로 보내 채널 한도만 걸리게 한다
+		List<UUID> companies = new ArrayList<>();
+		for (int i = 0; i < CAMPAIGNS; i++) {
+			companies.add(UUID.randomUUID());
+		}
+		double rate = measureRate(governor, companies);
+
+		assertEquals(10_000, rate, 10_000 * 0.05, "초당 발송 건수가 한도의 5% 안이어야 합니다: " + rate);
+		Map<String, Object> stats = governor.getStats();
+		assertTrue(((Number) stats.get("throttledMs")).longValue() > 0);
+		assertEquals(0, ((Number) stats.get("waitingSenders")).intValue());
+	}
+
+	@Test
+	void companyOverrideCapsOneCompany() throws InterruptedException {
+		UUID company = UUID.randomUUID();
+		SendRateGovernor governor = governor(100_000, 0, company + ":2000");
+
+		// 같은 회사의 캠페인 16개가 예외 한도(초당 2000건)를 나눠 쓴다
+		List<UUID> companies = new ArrayList<>();
+		for (int i = 0; i < CAMPAIGNS; i++) {
+			companies.add(company);
+		}
+		double rate = measureRate(governor, companies);
+
+		assertEquals(2_000, rate, 2_000 * 0.05, "초당 발송 건수가 회사 한도의 5% 안이어야 합니다: " + rate);
+	}
+
+	@Test
+	void channelCapHoldsWhenCompanyCapsAlsoApply() throws InterruptedException {
+		SendRateGovernor governor = governor(4_000, 10_000, "");
+
+		// 회사 4곳이 캠페인 4개씩 보낸다 (회사 한도 합계 16000 > 채널 한도 10000, 회사 대기 뒤에도 채널 한도가 지켜져야 한다)
+		List<UUID> companies = new ArrayList<>();
+		for (int c = 0; c < 4; c++) {
+			UUID company = UUID.randomUUID();
+			for (int i = 0; i < CAMPAIGNS / 4; i++) {
+				companies.add(company);
+			}
+		}
+		double rate = measureRate(governor, companies);
+
+		assertEquals(10_000, rate, 10_000 * 0.05, "초당 발송 건수가 채널 한도의 5% 안이어야 합니다: " + rate);
+	}
+
+	@Test
+	void channelCapHoldsWhileCompanyQueueDrains() throws InterruptedException {
+		UUID capped = UUID.randomUUID();
+		SendRateGovernor governor = governor(0, 10_000, capped + ":2000");
+
+		// 한도가 걸린 회사의 캠페인 16개는 회사 대기열(0.8초 분량)을 채운 채 예약을 멈추고, 다른 회사 캠페인 8개는 계속 보낸다
+		// 회사 대기 중인 발송이 채널 토큰을 미리 써 두었다면 대기열이 빠지는 동안 채널 한도를 넘게 된다
+		List<UUID> companies = new ArrayList<>();
+		for (int i = 0; i < CAMPAIGNS; i++) {
+			companies.add(capped);
+		}
+		for (int i = 0; i < CAMPAIGNS / 2; i++) {
+			companies.add(UUID.randomUUID());
+		}
+		long drainNanos = CAMPAIGNS * CHUNK * 1_000_000_000L / 2_000;
+		long stop = System.nanoTime() + 2 * WARMUP_NANOS;
+		long[] stopAt = new long[companies.size()];
+		for (int i = 0; i < stopAt.length; i++) {
+			stopAt[i] = i < CAMPAIGNS ? stop : stop + drainNanos;
+		}
+		double rate = releasedBetween(governor, companies, stopAt, stop, stop + drainNanos) * 1_000_000_000.0 / drainNanos;
+
+		assertEquals(10_000, rate, 10_000 * 0.05, "회사 대기열이 빠지는 동안에도 채널 한도의 5% 안이어야 합니다: " + rate);
+	}
+
+	@Test
+	void interruptedWaitReturnsReservedTokens() throws InterruptedException {
+		SendRateGovernor governor = governor(0, 1_000, "");
+		governor.acquire(null, SendRateGovernor.Channel.SMS, 1_000);
+
+		// 다음 1000건은 약 1초를 기다려야 하는데, 기다리는 중에 중단되면 예약한 토큰을 돌려줘야 한다
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		Thread sender = new Thread(() -> {
+			try {
+				governor.acquire(null, SendRateGovernor.Channel.SMS, 1_000);
+			} catch (RuntimeException e) {
+				failure.set(e);
+			}
+		});
+		sender.start();
+		Thread.sleep(100);
+		sender.interrupt();
+		sender.join(5_000);
+
+		assertNotNull(failure.get());
+		Map<?, ?> sms = (Map<?, ?>) ((Map<?, ?>) governor.getStats().get("channels")).get("SMS");
+		long backlog = ((Number) sms.get("backlog")).longValue();
+		assertTrue(backlog < 1_000, "중단된 예약만큼 대기 건수가 줄어야 합니다: " + backlog);
+	}
+
+	private SendRateGovernor governor(long companyPerSecond, long smsPerSecond, String companyOverrides) {
+		SendRateGovernor governor = new SendRateGovernor();
+		ReflectionTestUtils.setField(governor, "companyPerSecond", companyPerSecond);
+		ReflectionTestUtils.setField(governor, "companyOverrides", companyOverrides);
+		ReflectionTestUtils.setField(governor, "smsPerSecond", smsPerSecond);
+		ReflectionTestUtils.setField(governor, "mmsPerSecond", 0L);
+		ReflectionTestUtils.setField(governor, "burstMs", 100L);
+		governor.init();
+		return governor;
+	}
+
+	/**
+	 * 캠페인마다 스레드 하나로 청크 단위 토큰을 계속 받고, 처음 1초(버스트 구간)를 뺀 3초 동안 받은 건수로 초당 발송 건수를 계산
+	 */
+	private double measureRate(SendRateGovernor governor, List<UUID> companies) throws InterruptedException {
+		long measureFrom = System.nanoTime() + WARMUP_NANOS;
+		long measureTo = measureFrom + MEASURE_NANOS;
+		long[] stopAt = new long[companies.size()];
+		Arrays.fill(stopAt, measureTo);
+		return releasedBetween(governor, companies, stopAt, measureFrom, measureTo) * 1_000_000_000.0 / MEASURE_NANOS;
+	}
+
+	/**
+	 * 캠페인마다 스레드 하나로 stopAt까지 청크 단위 토큰을 계속 받고, [from, to) 사이에 받은 건수를 센다
+	 */
+	private long releasedBetween(SendRateGovernor governor, List<UUID> companies, long[] stopAt, long from, long to)
+			throws InterruptedException {
+		AtomicLongArray acquired = new AtomicLongArray(companies.size());
+		CountDownLatch done = new CountDownLatch(companies.size());
+		for (int i = 0; i < companies.size(); i++) {
+			int campaign = i;
+			UUID companyId = companies.get(i);
+			Thread sender = new Thread(() -> {
+				try {
+					while (System.nanoTime() < stopAt[campaign]) {
+						governor.acquire(companyId, SendRateGovernor.Channel.SMS, CHUNK);
+						long now = System.nanoTime();
+						if (now >= from && now < to) {
+							acquired.addAndGet(campaign, CHUNK);
+						}
+					}
+				} finally {
+					done.countDown();
+				}
+			}, "rate-test-" + i);
+			sender.start();
+		}
+		done.await();
+
+		long total = 0;
+		for (int i = 0; i < acquired.length(); i++) {
+			total += acquired.get(i);
+		}
+		return total;
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * UUIDv7 형식/정렬 순서 확인
+ */
+class UuidV7Tests {
+
+	@Test
+	void generatesVersion7WithRfcVariant() {
+		long before = System.currentTimeMillis();
+		UUID uuid = UuidV7.generate();
+		long after = System.currentTimeMillis();
+
+		assertEquals(7, uuid.version());
+		assertEquals(2, uuid.variant());
+		// 카운터가 다음 밀리초를 빌려 쓸 수 있으므로 약간의 여유를 둔다
+		long timestamp = UuidV7.timestampMillis(uuid);
+		assertTrue(timestamp >= before && timestamp <= after + 1000);
+		// 문자열 형식으로 DB uuid 컬럼과 호환
+		assertEquals(uuid, UUID.fromString(uuid.toString()));
+	}
+
+	@Test
+	void idsAreUniqueAndIncreasingInIssueOrder() throws InterruptedException {
+		List<UUID> sequential = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++) {
+			sequential.add(UuidV7.generate());
+		}
+		for (int i = 1; i < sequential.size(); i++) {
+			// 문자열(=PostgreSQL uuid 바이트 순서) 기준으로 증가해야 한다
+			assertTrue(sequential.get(i - 1).toString().compareTo(sequential.get(i).toString()) < 0);
+		}
+
+		ConcurrentLinkedQueue<UUID> concurrent = new ConcurrentLinkedQueue<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 50_000; i++) {
+					concurrent.add(UuidV7.generate());
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Set<UUID> unique = new HashSet<>(concurrent);
+		assertEquals(400_000, unique.size());
+
+		List<String> sorted = new ArrayList<>();
+		for (UUID uuid : concurrent) {
+			sorted.add(uuid.toString());
+		}
+		Collections.sort(sorted);
+		assertTrue(sorted.get(0).compareTo(sequential.get(sequential.size() - 1).toString()) > 0);
+	}
+}